@@ -6,6 +6,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("org.jlleitschuh.gradle.ktlint") version "14.0.1"
     id("org.flywaydb.flyway") version "12.0.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "camp.nextstep.edu"
@@ -26,10 +27,12 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("com.fasterxml.jackson.module:jackson-module-kotlin")
     implementation("org.jetbrains.kotlin:kotlin-reflect")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-mysql")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation(platform("io.jsonwebtoken:jjwt-bom:0.13.0"))
     implementation("io.jsonwebtoken:jjwt-api")
     runtimeOnly("io.jsonwebtoken:jjwt-impl")
@@ -57,6 +60,36 @@ ktlint {
     verbose.set(true)
 }
 
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// prints the stack of a virtual thread that blocks while pinned to its carrier (JDK 21)
+val tracePinnedThreads = "-Djdk.tracePinnedThreads=short"
+
+tasks.named<JavaExec>("bootRun") {
+    jvmArgs(tracePinnedThreads)
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Boots the app on H2 with a fake Kakao server and reports latency per endpoint."
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("gift.loadtest.LoadTestMain")
+    jvmArgs(tracePinnedThreads)
+}
+
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    // reports gc.alloc.rate.norm (bytes per operation) next to the timings
+    profilers.add("gc")
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
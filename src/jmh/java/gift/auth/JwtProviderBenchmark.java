@@ -0,0 +1,66 @@
+package gift.auth;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+// compare parse against parserPerCallBaseline: both verify the same token, only the parser construction differs
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtProviderBenchmark {
+    private static final String SECRET = "a-string-secret-at-least-256-bits-long";
+
+    private JwtProvider jwtProvider;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(SECRET, 3_600_000L);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = jwtProvider.createToken(1L, "admin@example.com", 0);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtProvider.createToken(1L, "admin@example.com", 0);
+    }
+
+    @Benchmark
+    public TokenClaims parse() {
+        return jwtProvider.parse(token);
+    }
+
+    @Benchmark
+    public String getEmail() {
+        return jwtProvider.getEmail(token);
+    }
+
+    // the parser-per-call verification getEmail did before JwtProvider kept one parser
+    @Benchmark
+    public String parserPerCallBaseline() {
+        return Jwts.parser()
+            .verifyWith(key)
+            .build()
+            .parseSignedClaims(token)
+            .getPayload()
+            .getSubject();
+    }
+}
@@ -0,0 +1,85 @@
+package gift.option;
+
+import gift.Application;
+import gift.category.CategoryRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Throughput of reserving stock on one hot option from many threads (a flash sale), on H2 in MySQL mode:
+ * - conditionalUpdate: OptionRepository.decreaseQuantity, one `update ... where quantity >= ?` statement
+ * - pessimisticLock: select ... for update, subtract in memory, flush the entity, in one transaction
+ * Both serialize on the option row; the difference is how long each holder keeps the lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class StockReservationBenchmark {
+    private ConfigurableApplicationContext context;
+    private OptionRepository optionRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Long optionId;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(Application.class,
+            "--spring.main.web-application-type=none",
+            "--spring.datasource.url=jdbc:h2:mem:stock;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "--spring.datasource.hikari.maximum-pool-size=16",
+            "--logging.level.root=WARN"
+        );
+        optionRepository = context.getBean(OptionRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Product product = context.getBean(ProductRepository.class).save(new Product(
+            "한정 수량 상품", 1_000, "https://example.com/limited.jpg",
+            context.getBean(CategoryRepository.class).findAll().get(0)));
+        optionId = optionRepository.save(new Option(product, "단일 옵션", Integer.MAX_VALUE)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int conditionalUpdate() {
+        return optionRepository.decreaseQuantity(optionId, 1);
+    }
+
+    @Benchmark
+    public int pessimisticLock() {
+        return transactionTemplate.execute(status -> {
+            Option option = entityManager.find(Option.class, optionId, LockModeType.PESSIMISTIC_WRITE);
+            option.subtractQuantity(1);
+            return option.getQuantity();
+        });
+    }
+}
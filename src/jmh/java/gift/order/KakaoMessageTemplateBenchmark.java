@@ -0,0 +1,90 @@
+package gift.order;
+
+import gift.category.Category;
+import gift.kakao.KakaoApiProperties;
+import gift.kakao.KakaoBulkhead;
+import gift.kakao.KakaoHttpClients;
+import gift.kakao.KakaoHttpProperties;
+import gift.kakao.KakaoMessageTemplates;
+import gift.option.Option;
+import gift.product.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// run with the gc profiler (configured in build.gradle.kts) to compare gc.alloc.rate.norm against stringFormatBaseline
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KakaoMessageTemplateBenchmark {
+    private KakaoMessageClient kakaoMessageClient;
+    private Product product;
+    private Order order;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        kakaoMessageClient = new KakaoMessageClient(
+            new KakaoApiProperties("https://kauth.kakao.com", "https://kapi.kakao.com"),
+            new KakaoHttpClients(
+                new KakaoHttpProperties(Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                    new KakaoHttpProperties.CircuitBreaker(50, 10, 5, Duration.ofSeconds(1), 1)),
+                RestClient.builder(),
+                new KakaoBulkhead(1, Duration.ofMillis(1), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()
+            ),
+            new KakaoMessageTemplates(new DefaultResourceLoader(), "classpath:kakao/message-templates.properties", Locale.KOREA)
+        );
+        Category category = new Category("전자기기", "#1E90FF", "https://example.com/images/electronics.jpg", null);
+        product = new Product("맥북 프로 16인치", 3_360_000, "https://example.com/images/macbook.jpg", category);
+        Option option = new Option(product, "스페이스 블랙 / M1 Pro", 10);
+        order = new Order(option, 1L, 2, "생일 축하해! 🎉");
+        orders = List.of(order, new Order(option, 1L, 1, null), new Order(option, 1L, 3, null), new Order(option, 1L, 1, null));
+    }
+
+    @Benchmark
+    public String buildTemplate() {
+        return kakaoMessageClient.buildTemplate(order, product);
+    }
+
+    @Benchmark
+    public String buildCombinedTemplate() {
+        return kakaoMessageClient.buildTemplate(orders);
+    }
+
+    // the String.format rendering the template engine replaced
+    @Benchmark
+    public String stringFormatBaseline() {
+        var totalPrice = String.format("%,d", product.getPrice() * order.getQuantity());
+        var message = order.getMessage() != null && !order.getMessage().isBlank()
+            ? "\\n\\n💌 " + order.getMessage()
+            : "";
+        return """
+            {
+                "object_type": "text",
+                "text": "🎁 선물이 도착했어요!\\n\\n%s (%s)\\n수량: %d개\\n금액: %s원%s",
+                "link": {},
+                "button_title": "선물 확인하기"
+            }
+            """.formatted(product.getName(), order.getOption().getName(), order.getQuantity(), totalPrice, message);
+    }
+}
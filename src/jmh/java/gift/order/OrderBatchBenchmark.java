@@ -0,0 +1,117 @@
+package gift.order;
+
+import gift.Application;
+import gift.auth.JwtProvider;
+import gift.category.CategoryRepository;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Time to place `lines` order lines over HTTP, on H2 in MySQL mode:
+ * - singleCalls: one POST /api/orders per line, each with its own auth, transaction, stock and point updates
+ * - batchCall: one POST /api/orders/batch with every line (one IN query, one point deduction, one JDBC batch insert)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBatchBenchmark {
+    @Param({"1", "5", "20"})
+    private int lines;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private List<String> lineBodies;
+    private String batchBody;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(Application.class,
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL",
+            "--logging.level.root=WARN"
+        );
+        baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+
+        Product product = context.getBean(ProductRepository.class).save(new Product(
+            "묶음 주문 상품", 1, "https://example.com/batch.jpg",
+            context.getBean(CategoryRepository.class).findAll().get(0)));
+        OptionRepository optionRepository = context.getBean(OptionRepository.class);
+        lineBodies = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Option option = optionRepository.save(new Option(product, "옵션 " + i, Integer.MAX_VALUE));
+            lineBodies.add("{\"optionId\":%d,\"quantity\":1,\"message\":null}".formatted(option.getId()));
+        }
+        batchBody = "{\"lines\":[" + String.join(",", lineBodies) + "]}";
+
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        Member member = memberRepository.save(new Member("batch@example.com", "password"));
+        memberRepository.chargePoint(member.getId(), Integer.MAX_VALUE);
+        authorization = "Bearer " + context.getBean(JwtProvider.class)
+            .createToken(member.getId(), member.getEmail(), member.getTokenVersion());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleCalls() throws IOException, InterruptedException {
+        int created = 0;
+        for (String body : lineBodies) {
+            created += post("/api/orders", body);
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int batchCall() throws IOException, InterruptedException {
+        return post("/api/orders/batch", batchBody);
+    }
+
+    private int post(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", authorization)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Order failed with " + response.statusCode() + ": " + path);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,164 @@
+package gift.order;
+
+import gift.Application;
+import gift.auth.JwtProvider;
+import gift.category.CategoryRepository;
+import gift.common.Cursors;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+ * Time to fetch page `page` (1-based, PAGE_SIZE rows, newest first) of one member's `rows` orders over HTTP:
+ * - offsetPage: GET /api/orders?page=..&sort=..; skips (page - 1) * PAGE_SIZE index entries and counts every row
+ * - cursorPage: GET /api/orders?cursor=..; seeks the (member_id, order_date_time) index at the cursor of that page
+ * Every order belongs to the benchmarked member, so the deepest page (offset 2M at 100k) exists.
+ * Seeding 10M rows takes minutes, so the orders live in an H2 file database in java.io.tmpdir (MySQL mode), reused by
+ * every trial and run while it holds `rows` orders; delete gift-order-pagination.* there to seed again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderPaginationBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final String MEMBER_EMAIL = "pagination@example.com";
+
+    @Param({"10000000"})
+    private int rows;
+
+    @Param({"1", "1000", "100000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String authorization;
+    private URI offsetUri;
+    private URI cursorUri;
+
+    @Setup
+    public void setUp() {
+        Path database = Path.of(System.getProperty("java.io.tmpdir"), "gift-order-pagination");
+        context = SpringApplication.run(Application.class,
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:file:" + database + ";MODE=MySQL",
+            "--logging.level.root=WARN"
+        );
+        String baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        Member member = memberRepository.findByEmail(MEMBER_EMAIL)
+            .orElseGet(() -> memberRepository.save(new Member(MEMBER_EMAIL, "password")));
+        authorization = "Bearer " + context.getBean(JwtProvider.class)
+            .createToken(member.getId(), member.getEmail(), member.getTokenVersion());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate, member.getId());
+
+        offsetUri = URI.create(baseUrl + "/api/orders?page=" + (page - 1) + "&size=" + PAGE_SIZE
+            + "&sort=orderDateTime,desc&sort=id,desc");
+        String cursor = cursorBefore(jdbcTemplate, member.getId());
+        cursorUri = URI.create(baseUrl + "/api/orders?cursor=" + URLEncoder.encode(cursor, UTF_8) + "&size=" + PAGE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String offsetPage() throws IOException, InterruptedException {
+        return get(offsetUri);
+    }
+
+    @Benchmark
+    public String cursorPage() throws IOException, InterruptedException {
+        return get(cursorUri);
+    }
+
+    // one order per second going back from a fixed time, so every order has its own position
+    private void seed(JdbcTemplate jdbcTemplate, Long memberId) {
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from orders where member_id = ?", Integer.class, memberId);
+        if (existing == rows) {
+            return;
+        }
+        jdbcTemplate.update("delete from orders where member_id = ?", memberId);
+
+        Product product = context.getBean(ProductRepository.class).save(new Product(
+            "페이지 상품", 1_000, "https://example.com/page.jpg", context.getBean(CategoryRepository.class).findAll().get(0)));
+        Option option = context.getBean(OptionRepository.class).save(new Option(product, "기본 옵션", 1));
+        LocalDateTime newest = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{option.getId(), memberId, 1, null, Timestamp.valueOf(newest.minusSeconds(i))});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate(
+                    "insert into orders (option_id, member_id, quantity, message, order_date_time) values (?, ?, ?, ?, ?)",
+                    batch
+                );
+                batch.clear();
+            }
+        }
+    }
+
+    // the cursor a client holds after reading the pages before `page`, i.e. the position of their last row
+    private String cursorBefore(JdbcTemplate jdbcTemplate, Long memberId) {
+        if (page == 1) {
+            return "";
+        }
+        return jdbcTemplate.queryForObject(
+            "select order_date_time, id from orders where member_id = ? order by order_date_time desc, id desc limit 1 offset ?",
+            (rs, rowNum) -> Cursors.encodeTime(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+            memberId, (long) (page - 1) * PAGE_SIZE - 1
+        );
+    }
+
+    private String get(URI uri) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+            .header("Authorization", authorization)
+            .GET()
+            .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing failed with " + response.statusCode() + ": " + uri);
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,71 @@
+package gift.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Query latency of ProductSearchIndex over synthetic Hangul product names; the target is under 1ms at a million products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchIndexBenchmark {
+    private static final String[] WORDS = {
+        "아메리카노", "카페라떼", "초콜릿", "케이크", "치즈", "딸기", "바닐라", "쿠키", "마카롱", "한우", "갈비", "세트",
+        "선물", "상자", "프리미엄", "스페셜", "수제", "과일", "바구니", "꽃다발", "향수", "립밤", "텀블러", "머그"
+    };
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(null);
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            if (name.length() > 15) {
+                name = name.substring(0, 15);
+            }
+            index.index(new ProductResponse(id, name, 1_000 + random.nextInt(100_000), "https://example.com/" + id, 1L + random.nextInt(20)));
+        }
+    }
+
+    @Benchmark
+    public List<ProductResponse> word() {
+        return index.search(new ProductSearchQuery("치즈 케이크", null, null, null, false, 20));
+    }
+
+    @Benchmark
+    public List<ProductResponse> composingPrefix() {
+        return index.search(new ProductSearchQuery("카페랕", null, null, null, true, 20));
+    }
+
+    @Benchmark
+    public List<ProductResponse> filtered() {
+        return index.search(new ProductSearchQuery("선물", 7L, 50_000, 60_000, false, 20));
+    }
+
+    @Benchmark
+    public List<ProductResponse> rare() {
+        return index.search(new ProductSearchQuery("마카롱향", null, null, null, false, 20));
+    }
+}
@@ -0,0 +1,105 @@
+package gift.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Scales the default data of V2__Insert_default_data.sql up to the requested size.
+ * Products cycle through the default products (same price, image and category, numbered names);
+ * every seeded product gets one option with ample stock, and every seeded member gets enough points to keep ordering.
+ * The members that get service tokens (and so place the orders) are linked to Kakao with tokens from the fake server,
+ * so orders queue notifications and the dispatcher, rate limiter and token refresh run under load. Their access tokens
+ * lapse at random points within kakao-token-ttl, so background and on-the-spot refreshes are spread over the run.
+ */
+class DataSeeder {
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FakeKakaoServer kakao;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, FakeKakaoServer kakao) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.kakao = kakao;
+    }
+
+    SeededData seed(LoadTestOptions options) {
+        List<Object[]> baseProducts = jdbcTemplate.query(
+            "select name, price, image_url, category_id from product order by id",
+            (rs, rowNum) -> new Object[]{rs.getString(1), rs.getInt(2), rs.getString(3), rs.getLong(4)}
+        );
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= options.products(); i++) {
+            Object[] base = baseProducts.get(i % baseProducts.size());
+            batch.add(new Object[]{productName((String) base[0], i), base[1], base[2], base[3]});
+            flushIfFull("insert into product (name, price, image_url, category_id) values (?, ?, ?, ?)", batch, i == options.products());
+        }
+        jdbcTemplate.update("""
+            insert into options (product_id, name, quantity)
+            select id, '기본 옵션', 1000000000 from product where id not in (select product_id from options)
+            """);
+
+        for (int i = 1; i <= options.members(); i++) {
+            batch.add(new Object[]{"loadtest" + i + "@example.com", "password", Integer.MAX_VALUE});
+            flushIfFull("insert into member (email, password, point) values (?, ?, ?)", batch, i == options.members());
+        }
+
+        List<Member> members = jdbcTemplate.query(
+            "select id, email from member where email like 'loadtest%' order by id",
+            (rs, rowNum) -> new Member(rs.getLong(1), rs.getString(2))
+        );
+        long minProductId = jdbcTemplate.queryForObject("select min(id) from product", Long.class);
+        long maxProductId = jdbcTemplate.queryForObject("select max(id) from product", Long.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int wishesPerMember = (int) Math.min(options.wishesPerMember(), maxProductId - minProductId + 1);
+        for (int m = 0; m < members.size(); m++) {
+            // consecutive products from a random start, so (member_id, product_id) stays unique
+            long start = random.nextLong(minProductId, maxProductId - wishesPerMember + 2);
+            for (int w = 0; w < wishesPerMember; w++) {
+                batch.add(new Object[]{members.get(m).id(), start + w});
+            }
+            flushIfFull("insert into wish (member_id, product_id) values (?, ?)", batch, m == members.size() - 1);
+        }
+
+        int kakaoMembers = Math.min(options.tokens(), members.size());
+        long tokenTtlMillis = options.kakaoTokenTtl().toMillis();
+        for (int m = 0; m < kakaoMembers; m++) {
+            FakeKakaoServer.SeededTokens tokens = kakao.seedTokens(Duration.ofMillis(random.nextLong(1, tokenTtlMillis + 1)));
+            batch.add(new Object[]{tokens.accessToken(), tokens.accessTokenExpiresAt(),
+                tokens.refreshToken(), tokens.refreshTokenExpiresAt(), members.get(m).id()});
+            flushIfFull("""
+                update member set kakao_access_token = ?, kakao_access_token_expires_at = ?,
+                    kakao_refresh_token = ?, kakao_refresh_token_expires_at = ?
+                where id = ?
+                """, batch, m == kakaoMembers - 1);
+        }
+
+        long minOptionId = jdbcTemplate.queryForObject("select min(id) from options", Long.class);
+        long maxOptionId = jdbcTemplate.queryForObject("select max(id) from options", Long.class);
+        long productPages = Math.max(1, (maxProductId - minProductId + 1) / 20);
+        return new SeededData(members, minOptionId, maxOptionId, productPages);
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch, boolean last) {
+        if (batch.size() >= BATCH_SIZE || (last && !batch.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    // product names are limited to 15 characters
+    private static String productName(String baseName, int index) {
+        String prefix = baseName.length() > 7 ? baseName.substring(0, 7) : baseName;
+        return prefix.strip() + " " + index;
+    }
+
+    record Member(long id, String email) {
+    }
+
+    record SeededData(List<Member> members, long minOptionId, long maxOptionId, long productPages) {
+    }
+}
@@ -0,0 +1,18 @@
+package gift.loadtest;
+
+enum Endpoint {
+    PRODUCTS("GET /api/products"),
+    WISHES("GET /api/wishes"),
+    ORDERS("POST /api/orders"),
+    KAKAO_LOGIN("GET /api/auth/kakao/callback");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
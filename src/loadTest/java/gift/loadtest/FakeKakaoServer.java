@@ -0,0 +1,165 @@
+package gift.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Local stand-in for kauth.kakao.com and kapi.kakao.com.
+ * Every response is delayed by a fixed latency to mimic the remote round trip,
+ * and a share of them (errorRate) fails with 500 to exercise timeouts and the circuit breakers.
+ * Access tokens expire after tokenTtl like real ones: kapi answers 401 for an expired or unknown token,
+ * and kauth issues new access tokens for the refresh_token grant.
+ * seedTokens() registers tokens for members written straight to the database, as if they had logged in earlier.
+ */
+class FakeKakaoServer implements AutoCloseable {
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(60);
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final double errorRate;
+    private final Duration tokenTtl;
+    private final Map<String, Long> accessTokenExpiries = new ConcurrentHashMap<>();
+    private final Map<String, Long> refreshTokenExpiries = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong unauthorized = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    FakeKakaoServer(Duration latency, double errorRate, Duration tokenTtl) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.tokenTtl = tokenTtl;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/oauth/token", exchange -> respond(exchange, token(form(exchange))));
+        server.createContext("/v2/user/me", exchange -> respond(exchange, authorized(exchange, """
+            {"id":1,"kakao_account":{"email":"kakao@example.com"}}
+            """)));
+        server.createContext("/v2/api/talk/memo/default/send", exchange -> {
+            messages.incrementAndGet();
+            respond(exchange, authorized(exchange, """
+                {"result_code":0}
+                """));
+        });
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long refreshes() {
+        return refreshes.get();
+    }
+
+    long unauthorized() {
+        return unauthorized.get();
+    }
+
+    long messages() {
+        return messages.get();
+    }
+
+    // an access token that lapses after accessTokenLifetime and a refresh token valid for the usual 60 days
+    SeededTokens seedTokens(Duration accessTokenLifetime) {
+        long now = System.nanoTime();
+        LocalDateTime wallClock = LocalDateTime.now();
+        long serial = issued.incrementAndGet();
+        String accessToken = "fake-access-token-" + serial;
+        String refreshToken = "fake-refresh-token-" + serial;
+        accessTokenExpiries.put(accessToken, now + accessTokenLifetime.toNanos());
+        refreshTokenExpiries.put(refreshToken, now + REFRESH_TOKEN_TTL.toNanos());
+        return new SeededTokens(accessToken, wallClock.plus(accessTokenLifetime), refreshToken, wallClock.plus(REFRESH_TOKEN_TTL));
+    }
+
+    private Response token(Map<String, String> form) {
+        long now = System.nanoTime();
+        long serial = issued.incrementAndGet();
+        String accessToken = "fake-access-token-" + serial;
+        accessTokenExpiries.put(accessToken, now + tokenTtl.toNanos());
+        if ("refresh_token".equals(form.get("grant_type"))) {
+            Long refreshExpiry = refreshTokenExpiries.get(form.get("refresh_token"));
+            if (refreshExpiry == null || refreshExpiry - now < 0) {
+                return new Response(400, "{\"error\":\"invalid_grant\",\"error_code\":\"KOE322\"}");
+            }
+            refreshes.incrementAndGet();
+            return new Response(200, """
+                {"access_token":"%s","token_type":"bearer","expires_in":%d}
+                """.formatted(accessToken, tokenTtl.toSeconds()));
+        }
+        String refreshToken = "fake-refresh-token-" + serial;
+        refreshTokenExpiries.put(refreshToken, now + REFRESH_TOKEN_TTL.toNanos());
+        return new Response(200, """
+            {"access_token":"%s","token_type":"bearer","expires_in":%d,"refresh_token":"%s","refresh_token_expires_in":%d}
+            """.formatted(accessToken, tokenTtl.toSeconds(), refreshToken, REFRESH_TOKEN_TTL.toSeconds()));
+    }
+
+    private Response authorized(HttpExchange exchange, String body) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        Long expiry = authorization == null ? null : accessTokenExpiries.get(authorization.substring("Bearer ".length()));
+        if (expiry == null || expiry - System.nanoTime() < 0) {
+            unauthorized.incrementAndGet();
+            return new Response(401, "{\"code\":-401,\"msg\":\"this access token does not exist\"}");
+        }
+        return new Response(200, body);
+    }
+
+    private static Map<String, String> form(HttpExchange exchange) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private void respond(HttpExchange exchange, Response response) throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        boolean fail = ThreadLocalRandom.current().nextDouble() < errorRate;
+        byte[] bytes = (fail ? "{\"code\":-1,\"msg\":\"injected failure\"}" : response.body()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(fail ? 500 : response.status(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    record SeededTokens(
+        String accessToken,
+        LocalDateTime accessTokenExpiresAt,
+        String refreshToken,
+        LocalDateTime refreshTokenExpiresAt
+    ) {
+    }
+}
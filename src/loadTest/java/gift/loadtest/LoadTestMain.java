@@ -0,0 +1,82 @@
+package gift.loadtest;
+
+import gift.Application;
+import gift.auth.JwtProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Self-contained load test:
+ * 1. starts a fake Kakao server
+ * 2. boots the application on an in-memory H2 database in MySQL mode
+ * 3. seeds scaled data and issues member tokens
+ * 4. drives the configured workload and prints p50/p99/p999 latency and throughput per endpoint
+ */
+public class LoadTestMain {
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (FakeKakaoServer kakao = new FakeKakaoServer(options.kakaoLatency(), options.kakaoErrorRate(), options.kakaoTokenTtl());
+             ConfigurableApplicationContext context = boot(kakao.baseUrl(), options)) {
+            System.out.printf("Seeding %,d products, %,d members, %,d wishes per member...%n",
+                options.products(), options.members(), options.wishesPerMember());
+            DataSeeder.SeededData data = new DataSeeder(context.getBean(JdbcTemplate.class), kakao).seed(options);
+
+            JwtProvider jwtProvider = context.getBean(JwtProvider.class);
+            List<String> tokens = data.members().stream()
+                .limit(options.tokens())
+                .map(member -> jwtProvider.createToken(member.id(), member.email(), 0))
+                .toList();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("Running %d clients for %ds (warmup %ds)...%n",
+                options.concurrency(), options.duration().toSeconds(), options.warmup().toSeconds());
+            Map<Endpoint, LatencyHistogram> results;
+            ResourceSampler.Peak peak;
+            try (ResourceSampler sampler = new ResourceSampler(options.warmup())) {
+                results = new WorkloadRunner("http://127.0.0.1:" + port, options, data, tokens).run();
+                peak = sampler.peak();
+            }
+            report(results, options);
+            System.out.printf("%s threads: peak heap used %,d MB, peak live threads %d%n",
+                options.virtualThreads() ? "virtual" : "platform", peak.heapUsedBytes() / (1024 * 1024), peak.liveThreads());
+            System.out.printf("Kakao: %d messages received, %d tokens refreshed, %d requests rejected with 401%n",
+                kakao.messages(), kakao.refreshes(), kakao.unauthorized());
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(String kakaoBaseUrl, LoadTestOptions options) {
+        // command-line arguments take precedence over application.properties
+        return SpringApplication.run(Application.class,
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "--kakao.api.auth-base-url=" + kakaoBaseUrl,
+            "--kakao.api.api-base-url=" + kakaoBaseUrl,
+            "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+            // refresh well within short test token lifetimes
+            "--kakao.token.refresh-ahead=" + options.kakaoTokenTtl().dividedBy(2).toSeconds() + "s",
+            "--kakao.token.refresh-interval=" + Math.min(60_000, options.kakaoTokenTtl().dividedBy(4).toMillis()),
+            "--logging.level.root=WARN"
+        );
+    }
+
+    private static void report(Map<Endpoint, LatencyHistogram> results, LoadTestOptions options) {
+        double seconds = options.duration().toMillis() / 1_000.0;
+        System.out.printf("%-30s %10s %8s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)");
+        results.forEach((endpoint, histogram) -> System.out.printf("%-30s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+            endpoint.label(),
+            histogram.count(),
+            histogram.errors(),
+            histogram.count() / seconds,
+            histogram.percentile(0.50) / 1_000.0,
+            histogram.percentile(0.99) / 1_000.0,
+            histogram.percentile(0.999) / 1_000.0
+        ));
+    }
+}
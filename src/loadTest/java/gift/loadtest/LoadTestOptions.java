@@ -0,0 +1,55 @@
+package gift.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Options of a load-test run, passed as --name=value arguments:
+ * ./gradlew loadTest --args="--concurrency=128 --duration=120 --products=1000000"
+ */
+record LoadTestOptions(
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    int products,
+    int members,
+    int wishesPerMember,
+    int tokens,
+    Duration kakaoLatency,
+    double kakaoErrorRate,
+    Duration kakaoTokenTtl,
+    boolean virtualThreads,
+    Map<Endpoint, Integer> mix
+) {
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+            Integer.parseInt(values.getOrDefault("concurrency", "64")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+            Integer.parseInt(values.getOrDefault("products", "100000")),
+            Integer.parseInt(values.getOrDefault("members", "10000")),
+            Integer.parseInt(values.getOrDefault("wishes-per-member", "5")),
+            Integer.parseInt(values.getOrDefault("tokens", "1000")),
+            Duration.ofMillis(Long.parseLong(values.getOrDefault("kakao-latency-ms", "50"))),
+            Double.parseDouble(values.getOrDefault("kakao-error-rate", "0")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("kakao-token-ttl", "21599"))),
+            Boolean.parseBoolean(values.getOrDefault("virtual-threads", "true")),
+            Map.of(
+                Endpoint.PRODUCTS, Integer.parseInt(values.getOrDefault("mix-products", "6")),
+                Endpoint.WISHES, Integer.parseInt(values.getOrDefault("mix-wishes", "3")),
+                Endpoint.ORDERS, Integer.parseInt(values.getOrDefault("mix-orders", "1")),
+                Endpoint.KAKAO_LOGIN, Integer.parseInt(values.getOrDefault("mix-kakao-login", "0"))
+            )
+        );
+    }
+}
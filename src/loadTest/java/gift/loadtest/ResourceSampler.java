@@ -0,0 +1,44 @@
+package gift.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Samples heap usage and live thread count of this JVM (application and load generator) every 100ms
+ * after the warmup, to compare the platform-thread pool with virtual threads.
+ * Live threads count platform threads only; virtual threads are not reported by ThreadMXBean.
+ */
+class ResourceSampler implements AutoCloseable {
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong heapUsed = new AtomicLong();
+    private final AtomicLong liveThreads = new AtomicLong();
+
+    ResourceSampler(Duration warmup) {
+        scheduler.scheduleAtFixedRate(this::sample, warmup.toMillis(), 100, TimeUnit.MILLISECONDS);
+    }
+
+    Peak peak() {
+        return new Peak(heapUsed.get(), liveThreads.get());
+    }
+
+    private void sample() {
+        heapUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+        liveThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    record Peak(long heapUsedBytes, long liveThreads) {
+    }
+}
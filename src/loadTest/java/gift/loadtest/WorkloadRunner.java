@@ -0,0 +1,108 @@
+package gift.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Drives a weighted mix of product, wish, order and Kakao login requests from a fixed number of concurrent clients.
+ * Requests issued during the warmup are not recorded.
+ */
+class WorkloadRunner {
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String baseUrl;
+    private final LoadTestOptions options;
+    private final DataSeeder.SeededData data;
+    private final List<String> tokens;
+    private final Endpoint[] weighted;
+    private final Map<Endpoint, LatencyHistogram> histograms = new EnumMap<>(Endpoint.class);
+
+    WorkloadRunner(String baseUrl, LoadTestOptions options, DataSeeder.SeededData data, List<String> tokens) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.data = data;
+        this.tokens = tokens;
+
+        List<Endpoint> slots = new ArrayList<>();
+        options.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        this.weighted = slots.toArray(Endpoint[]::new);
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new LatencyHistogram());
+        }
+    }
+
+    Map<Endpoint, LatencyHistogram> run() throws Exception {
+        long recordFrom = System.nanoTime() + options.warmup().toNanos();
+        long end = recordFrom + options.duration().toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                futures.add(clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Endpoint endpoint = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                        long start = System.nanoTime();
+                        boolean success = send(endpoint);
+                        if (start >= recordFrom) {
+                            histograms.get(endpoint).record((System.nanoTime() - start) / 1_000, success);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return histograms;
+    }
+
+    private boolean send(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = tokens.get(random.nextInt(tokens.size()));
+        HttpRequest request = switch (endpoint) {
+            case PRODUCTS -> HttpRequest.newBuilder(URI.create(
+                    baseUrl + "/api/products?size=20&page=" + random.nextLong(data.productPages())))
+                .GET()
+                .build();
+            case WISHES -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/wishes?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+            case ORDERS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                    {"optionId": %d, "quantity": 1, "message": "load test"}
+                    """.formatted(random.nextLong(data.minOptionId(), data.maxOptionId() + 1))))
+                .build();
+            // blocks on two calls to the fake Kakao server
+            case KAKAO_LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/kakao/callback?code=load-test"))
+                .GET()
+                .build();
+        };
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package gift.auth;
+
+/**
+ * Lightweight principal of an authenticated request.
+ * Unlike {@link gift.member.Member}, it is not a managed entity and is safe to cache.
+ *
+ * @param id the member id
+ * @param email the member email
+ */
+public record AuthenticatedMember(Long id, String email) {
+}
@@ -1,12 +1,13 @@
 package gift.auth;
 
-import gift.member.Member;
 import gift.member.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Resolves the authenticated member from an Authorization header.
+ * Verified principals are cached per token in {@link PrincipalCache};
+ * tokens carrying a member id are resolved without querying the member table.
  *
  * @author brian.kim
  * @since 1.0
@@ -15,20 +16,47 @@ import org.springframework.stereotype.Component;
 public class AuthenticationResolver {
     private final JwtProvider jwtProvider;
     private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
 
     @Autowired
-    public AuthenticationResolver(JwtProvider jwtProvider, MemberRepository memberRepository) {
+    public AuthenticationResolver(
+        JwtProvider jwtProvider,
+        MemberRepository memberRepository,
+        PrincipalCache principalCache
+    ) {
         this.jwtProvider = jwtProvider;
         this.memberRepository = memberRepository;
+        this.principalCache = principalCache;
     }
 
-    public Member extractMember(String authorization) {
+    public AuthenticatedMember extractMember(String authorization) {
         try {
             final String token = authorization.replace("Bearer ", "");
-            final String email = jwtProvider.getEmail(token);
-            return memberRepository.findByEmail(email).orElse(null);
+            return principalCache.get(token, this::load);
         } catch (Exception e) {
             return null;
         }
     }
+
+    private PrincipalCache.Entry load(String token) {
+        final TokenClaims claims = jwtProvider.parse(token);
+        if (claims.memberId() != null) {
+            // version 2+: the signed claims are enough; PrincipalCache checks the token version on every use
+            return new PrincipalCache.Entry(
+                new AuthenticatedMember(claims.memberId(), claims.email()),
+                claims.tokenVersion(),
+                claims.expiresAt()
+            );
+        }
+
+        // version 1 (email only): resolve the member id by email; the token predates token versions,
+        // so it counts as version 0 and the first bump revokes it
+        return memberRepository.findByEmail(claims.email())
+            .map(member -> new PrincipalCache.Entry(
+                new AuthenticatedMember(member.getId(), member.getEmail()),
+                claims.tokenVersion(),
+                claims.expiresAt()
+            ))
+            .orElse(null);
+    }
 }
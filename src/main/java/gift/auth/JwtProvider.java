@@ -1,5 +1,7 @@
 package gift.auth;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,13 +13,23 @@ import java.util.Date;
 
 /**
  * Provides JWT token creation and validation.
+ * Tokens carry the member id and a format version so requests can be authorized without a member lookup;
+ * version 1 tokens (email subject only) are still accepted during migration.
+ * They also carry the member's token version, which is bumped to revoke every token of the member.
  *
  * @author brian.kim
  * @since 1.0
  */
 @Component
 public class JwtProvider {
+    static final int TOKEN_VERSION = 2;
+    static final int LEGACY_TOKEN_VERSION = 1;
+    private static final String MEMBER_ID_CLAIM = "mid";
+    private static final String VERSION_CLAIM = "ver";
+    private static final String TOKEN_VERSION_CLAIM = "tv";
+
     private final SecretKey key;
+    private final JwtParser parser;
     private final long expiration;
 
     @Autowired
@@ -26,6 +38,10 @@ public class JwtProvider {
         @Value("${jwt.expiration}") long expiration
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        // immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+            .verifyWith(key)
+            .build();
         this.expiration = expiration;
     }
 
@@ -36,26 +52,47 @@ public class JwtProvider {
      * @return the email stored in the token's subject claim
      */
     public String getEmail(String token) {
-        return Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload()
-            .getSubject();
+        return parse(token).email();
+    }
+
+    /**
+     * Verifies a signed JWT token and extracts its claims.
+     *
+     * @param token the JWT token string
+     * @return the claims of the token; {@code memberId} is {@code null} for version 1 tokens
+     */
+    public TokenClaims parse(String token) {
+        final Claims claims = parser.parseSignedClaims(token).getPayload();
+        final Number memberId = claims.get(MEMBER_ID_CLAIM, Number.class);
+        final Number version = claims.get(VERSION_CLAIM, Number.class);
+        final Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return new TokenClaims(
+            memberId == null ? null : memberId.longValue(),
+            claims.getSubject(),
+            version == null ? LEGACY_TOKEN_VERSION : version.intValue(),
+            claims.getIssuedAt().toInstant(),
+            claims.getExpiration().toInstant(),
+            tokenVersion == null ? 0 : tokenVersion.intValue()
+        );
     }
 
     /**
-     * Creates a new signed JWT token for the given email.
+     * Creates a new signed JWT token for the given member.
      *
+     * @param memberId the member id to store in the token's claims
      * @param email the email to store as the token's subject
+     * @param tokenVersion the member's current token version
      * @return the compact JWT token string
      */
-    public String createToken(String email) {
+    public String createToken(Long memberId, String email, int tokenVersion) {
         final Date now = new Date();
         final Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
             .subject(email)
+            .claim(MEMBER_ID_CLAIM, memberId)
+            .claim(VERSION_CLAIM, TOKEN_VERSION)
+            .claim(TOKEN_VERSION_CLAIM, tokenVersion)
             .issuedAt(now)
             .expiration(expiryDate)
             .signWith(key)
@@ -1,45 +1,57 @@
 package gift.auth;
 
+import gift.kakao.KakaoApiProperties;
+import gift.kakao.KakaoUnavailableException;
 import gift.member.Member;
 import gift.member.MemberRepository;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDateTime;
+
 /*
  * Handles the Kakao OAuth2 login flow.
  * 1. /login redirects the user to Kakao's authorization page
- * 2. /callback receives the authorization code, exchanges it for an access token,
+ * 2. /callback receives the authorization code, exchanges it for access and refresh tokens,
  *    retrieves user info, auto-registers the member if new, and issues a service JWT
+ * KakaoTokenManager keeps the stored access token fresh from then on.
  */
 @RestController
 @RequestMapping(path = "/api/auth/kakao")
 public class KakaoAuthController {
     private final KakaoLoginProperties properties;
+    private final KakaoApiProperties apiProperties;
     private final KakaoLoginClient kakaoLoginClient;
     private final MemberRepository memberRepository;
     private final JwtProvider jwtProvider;
+    private final KakaoTokenManager kakaoTokenManager;
 
     public KakaoAuthController(
         KakaoLoginProperties properties,
+        KakaoApiProperties apiProperties,
         KakaoLoginClient kakaoLoginClient,
         MemberRepository memberRepository,
-        JwtProvider jwtProvider
+        JwtProvider jwtProvider,
+        KakaoTokenManager kakaoTokenManager
     ) {
         this.properties = properties;
+        this.apiProperties = apiProperties;
         this.kakaoLoginClient = kakaoLoginClient;
         this.memberRepository = memberRepository;
         this.jwtProvider = jwtProvider;
+        this.kakaoTokenManager = kakaoTokenManager;
     }
 
     @GetMapping(path = "/login")
     public ResponseEntity<Void> login() {
-        String kakaoAuthUrl = UriComponentsBuilder.fromUriString("https://kauth.kakao.com/oauth/authorize")
+        String kakaoAuthUrl = UriComponentsBuilder.fromUriString(apiProperties.authBaseUrl() + "/oauth/authorize")
             .queryParam("response_type", "code")
             .queryParam("client_id", properties.clientId())
             .queryParam("redirect_uri", properties.redirectUri())
@@ -54,16 +66,34 @@ public class KakaoAuthController {
 
     @GetMapping(path = "/callback")
     public ResponseEntity<TokenResponse> callback(@RequestParam("code") String code) {
+        LocalDateTime issuedAt = LocalDateTime.now();
         KakaoLoginClient.KakaoTokenResponse kakaoToken = kakaoLoginClient.requestAccessToken(code);
         KakaoLoginClient.KakaoUserResponse kakaoUser = kakaoLoginClient.requestUserInfo(kakaoToken.accessToken());
         String email = kakaoUser.email();
 
-        Member member = memberRepository.findByEmail(email)
-            .orElseGet(() -> new Member(email));
-        member.updateKakaoAccessToken(kakaoToken.accessToken());
-        memberRepository.save(member);
+        LocalDateTime accessTokenExpiresAt = kakaoToken.accessTokenExpiresAt(issuedAt);
+        LocalDateTime refreshTokenExpiresAt = kakaoToken.refreshTokenExpiresAt(issuedAt);
+        Member member = memberRepository.findByEmail(email).orElse(null);
+        if (member == null) {
+            member = new Member(email);
+            member.updateKakaoTokens(kakaoToken.accessToken(), accessTokenExpiresAt,
+                kakaoToken.refreshToken(), refreshTokenExpiresAt);
+            member = memberRepository.save(member);
+        } else {
+            // token columns only: saving the loaded entity would write back a stale point balance
+            memberRepository.updateKakaoTokens(member.getId(), kakaoToken.accessToken(), accessTokenExpiresAt,
+                kakaoToken.refreshToken(), refreshTokenExpiresAt);
+        }
+        kakaoTokenManager.evict(member.getId());
 
-        String token = jwtProvider.createToken(member.getEmail());
+        String token = jwtProvider.createToken(member.getId(), member.getEmail(), member.getTokenVersion());
         return ResponseEntity.ok(new TokenResponse(token));
     }
+
+    @ExceptionHandler(KakaoUnavailableException.class)
+    public ResponseEntity<String> handleKakaoUnavailable(KakaoUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
 }
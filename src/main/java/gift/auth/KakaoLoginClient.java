@@ -2,18 +2,30 @@ package gift.auth;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import gift.kakao.KakaoApiProperties;
+import gift.kakao.KakaoEndpoint;
+import gift.kakao.KakaoHttpClients;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
 
 @Component
 public class KakaoLoginClient {
     private final KakaoLoginProperties properties;
-    private final RestClient restClient;
+    private final KakaoApiProperties apiProperties;
+    private final KakaoEndpoint tokenEndpoint;
+    private final KakaoEndpoint userInfoEndpoint;
 
-    public KakaoLoginClient(KakaoLoginProperties properties, RestClient.Builder builder) {
+    public KakaoLoginClient(
+        KakaoLoginProperties properties,
+        KakaoApiProperties apiProperties,
+        KakaoHttpClients httpClients
+    ) {
         this.properties = properties;
-        this.restClient = builder.build();
+        this.apiProperties = apiProperties;
+        this.tokenEndpoint = httpClients.token();
+        this.userInfoEndpoint = httpClients.userInfo();
     }
 
     public KakaoTokenResponse requestAccessToken(String code) {
@@ -24,24 +36,55 @@ public class KakaoLoginClient {
         params.add("code", code);
         params.add("client_secret", properties.clientSecret());
 
-        return restClient.post()
-            .uri("https://kauth.kakao.com/oauth/token")
+        return tokenEndpoint.call(restClient -> restClient.post()
+            .uri(apiProperties.authBaseUrl() + "/oauth/token")
             .header("Content-Type", "application/x-www-form-urlencoded")
             .body(params)
             .retrieve()
-            .body(KakaoTokenResponse.class);
+            .body(KakaoTokenResponse.class));
+    }
+
+    /**
+     * Issues a new access token; the response carries a new refresh token only when the old one is close to expiry.
+     */
+    public KakaoTokenResponse refreshAccessToken(String refreshToken) {
+        LinkedMultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "refresh_token");
+        params.add("client_id", properties.clientId());
+        params.add("refresh_token", refreshToken);
+        params.add("client_secret", properties.clientSecret());
+
+        return tokenEndpoint.call(restClient -> restClient.post()
+            .uri(apiProperties.authBaseUrl() + "/oauth/token")
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .body(params)
+            .retrieve()
+            .body(KakaoTokenResponse.class));
     }
 
     public KakaoUserResponse requestUserInfo(String accessToken) {
-        return restClient.get()
-            .uri("https://kapi.kakao.com/v2/user/me")
+        return userInfoEndpoint.call(restClient -> restClient.get()
+            .uri(apiProperties.apiBaseUrl() + "/v2/user/me")
             .header("Authorization", "Bearer " + accessToken)
             .retrieve()
-            .body(KakaoUserResponse.class);
+            .body(KakaoUserResponse.class));
     }
 
+    // expiries are in seconds from now; refresh token fields are absent when it was not renewed
     @JsonIgnoreProperties(ignoreUnknown = true)
-    public record KakaoTokenResponse(@JsonProperty("access_token") String accessToken) {
+    public record KakaoTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("expires_in") Long expiresIn,
+        @JsonProperty("refresh_token") String refreshToken,
+        @JsonProperty("refresh_token_expires_in") Long refreshTokenExpiresIn
+    ) {
+        public LocalDateTime accessTokenExpiresAt(LocalDateTime issuedAt) {
+            return expiresIn == null ? null : issuedAt.plusSeconds(expiresIn);
+        }
+
+        public LocalDateTime refreshTokenExpiresAt(LocalDateTime issuedAt) {
+            return refreshTokenExpiresIn == null ? null : issuedAt.plusSeconds(refreshTokenExpiresIn);
+        }
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
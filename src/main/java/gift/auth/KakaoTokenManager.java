@@ -0,0 +1,238 @@
+package gift.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Keeps members' Kakao access tokens usable.
+ * - tokens are cached per member, so a send does not read the member row
+ * - a background job refreshes access tokens that lapse within refresh-ahead, using the refresh token;
+ *   accessToken() also refreshes on the spot when a token has lapsed anyway
+ * - one refresh per member at a time (striped locks, which unlike synchronized do not pin virtual threads),
+ *   and the member row is re-read first in case another thread or instance already refreshed it
+ * - a token that has lapsed and cannot be refreshed (no refresh token, expired, or invalid_grant from Kakao) is dead:
+ *   it is cleared from the member, and callers skip the send instead of making a call that can only fail
+ * Metrics: kakao.token.refresh, tagged by outcome (refreshed, dead, failed).
+ */
+@Component
+public class KakaoTokenManager {
+    private static final Logger log = LoggerFactory.getLogger(KakaoTokenManager.class);
+    private static final int LOCK_STRIPES = 64;
+
+    private final MemberRepository memberRepository;
+    private final KakaoLoginClient kakaoLoginClient;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Long, KakaoToken> tokens;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final Duration expirySkew;
+    private final Duration refreshAhead;
+    private final int refreshBatchSize;
+
+    public KakaoTokenManager(
+        MemberRepository memberRepository,
+        KakaoLoginClient kakaoLoginClient,
+        MeterRegistry meterRegistry,
+        @Value("${kakao.token.cache.maximum-size:100000}") long maximumSize,
+        @Value("${kakao.token.cache.ttl:10m}") Duration ttl,
+        @Value("${kakao.token.expiry-skew:1m}") Duration expirySkew,
+        @Value("${kakao.token.refresh-ahead:30m}") Duration refreshAhead,
+        @Value("${kakao.token.refresh-batch-size:100}") int refreshBatchSize
+    ) {
+        this.memberRepository = memberRepository;
+        this.kakaoLoginClient = kakaoLoginClient;
+        this.meterRegistry = meterRegistry;
+        // the ttl bounds how long a token replaced on another instance is served from here
+        this.tokens = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.expirySkew = expirySkew;
+        this.refreshAhead = refreshAhead;
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    /**
+     * @return whether the member has a Kakao token that is usable or can be refreshed
+     */
+    public boolean hasToken(Long memberId) {
+        return !tokens.get(memberId, this::load).isDead(LocalDateTime.now());
+    }
+
+    /**
+     * Returns an access token that is valid for at least expiry-skew, refreshing it if needed.
+     *
+     * @return empty if the member has no token or it is dead
+     * @throws RuntimeException if a needed refresh failed for a reason that may pass, such as Kakao being unavailable
+     */
+    public Optional<String> accessToken(Long memberId) {
+        KakaoToken token = tokens.get(memberId, this::load);
+        LocalDateTime threshold = LocalDateTime.now().plus(expirySkew);
+        if (!token.isUsable(threshold)) {
+            token = refresh(memberId, threshold);
+        }
+        return Optional.ofNullable(token.isUsable(LocalDateTime.now()) ? token.accessToken() : null);
+    }
+
+    // a new login stored fresh tokens
+    public void evict(Long memberId) {
+        tokens.invalidate(memberId);
+    }
+
+    // Kakao rejected the access token (401); it is refreshed before the next send
+    public void expire(Long memberId, String accessToken) {
+        memberRepository.expireKakaoAccessToken(memberId, accessToken, LocalDateTime.now());
+        tokens.invalidate(memberId);
+    }
+
+    @Scheduled(fixedDelayString = "${kakao.token.refresh-interval:60000}")
+    public void refreshExpiring() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = now.plus(refreshAhead);
+        List<Long> memberIds = memberRepository.findIdsWithKakaoAccessTokenExpiringBefore(
+            threshold, now, Limit.of(refreshBatchSize)
+        );
+        // Kakao calls are bounded by the token endpoint's bulkhead
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long memberId : memberIds) {
+                executor.execute(() -> {
+                    try {
+                        refresh(memberId, threshold);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to refresh Kakao access token. memberId={}", memberId, e);
+                    }
+                });
+            }
+        }
+    }
+
+    // refreshes the token unless it is usable at the threshold; returns the resulting token, KakaoToken.NONE if dead
+    private KakaoToken refresh(Long memberId, LocalDateTime threshold) {
+        Lock lock = locks[(int) Math.floorMod(memberId, (long) LOCK_STRIPES)];
+        lock.lock();
+        try {
+            KakaoToken token = load(memberId);
+            LocalDateTime now = LocalDateTime.now();
+            if (token.isUsable(threshold) || (!token.isRefreshable(now) && token.isUsable(now))) {
+                tokens.put(memberId, token);
+                return token;
+            }
+            if (!token.isRefreshable(now)) {
+                return dead(memberId, token);
+            }
+
+            KakaoLoginClient.KakaoTokenResponse response;
+            try {
+                response = kakaoLoginClient.refreshAccessToken(token.refreshToken());
+            } catch (HttpClientErrorException e) {
+                if (isInvalidGrant(e)) {
+                    log.info("Kakao refresh token rejected. memberId={}", memberId);
+                    return dead(memberId, token);
+                }
+                // 429, or a client configuration problem (401/403): not this member's fault, retry later
+                meterRegistry.counter("kakao.token.refresh", "outcome", "failed").increment();
+                throw e;
+            } catch (RuntimeException e) {
+                meterRegistry.counter("kakao.token.refresh", "outcome", "failed").increment();
+                throw e;
+            }
+
+            KakaoToken refreshed = token.refreshedBy(response, now);
+            memberRepository.updateKakaoTokens(
+                memberId,
+                refreshed.accessToken(),
+                refreshed.accessTokenExpiresAt(),
+                response.refreshToken(),
+                response.refreshTokenExpiresAt(now)
+            );
+            tokens.put(memberId, refreshed);
+            meterRegistry.counter("kakao.token.refresh", "outcome", "refreshed").increment();
+            return refreshed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the refresh token was revoked or has expired; only this ends a member's token for good
+    private static boolean isInvalidGrant(HttpClientErrorException e) {
+        return e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)
+            && e.getResponseBodyAsString().contains("\"invalid_grant\"");
+    }
+
+    private KakaoToken dead(Long memberId, KakaoToken token) {
+        if (token.accessToken() != null) {
+            memberRepository.clearKakaoTokens(memberId, token.accessToken());
+            meterRegistry.counter("kakao.token.refresh", "outcome", "dead").increment();
+        }
+        tokens.put(memberId, KakaoToken.NONE);
+        return KakaoToken.NONE;
+    }
+
+    private KakaoToken load(Long memberId) {
+        return memberRepository.findById(memberId)
+            .map(KakaoToken::of)
+            .orElse(KakaoToken.NONE);
+    }
+
+    // a null expiry is unknown (tokens stored before expiries were recorded) and treated as valid
+    private record KakaoToken(
+        String accessToken,
+        LocalDateTime accessTokenExpiresAt,
+        String refreshToken,
+        LocalDateTime refreshTokenExpiresAt
+    ) {
+        static final KakaoToken NONE = new KakaoToken(null, null, null, null);
+
+        static KakaoToken of(Member member) {
+            return new KakaoToken(
+                member.getKakaoAccessToken(),
+                member.getKakaoAccessTokenExpiresAt(),
+                member.getKakaoRefreshToken(),
+                member.getKakaoRefreshTokenExpiresAt()
+            );
+        }
+
+        boolean isUsable(LocalDateTime at) {
+            return accessToken != null && (accessTokenExpiresAt == null || accessTokenExpiresAt.isAfter(at));
+        }
+
+        boolean isRefreshable(LocalDateTime now) {
+            return refreshToken != null && (refreshTokenExpiresAt == null || refreshTokenExpiresAt.isAfter(now));
+        }
+
+        boolean isDead(LocalDateTime now) {
+            return !isUsable(now) && !isRefreshable(now);
+        }
+
+        KakaoToken refreshedBy(KakaoLoginClient.KakaoTokenResponse response, LocalDateTime issuedAt) {
+            return new KakaoToken(
+                response.accessToken(),
+                response.accessTokenExpiresAt(issuedAt),
+                response.refreshToken() != null ? response.refreshToken() : refreshToken,
+                response.refreshToken() != null ? response.refreshTokenExpiresAt(issuedAt) : refreshTokenExpiresAt
+            );
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package gift.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import gift.member.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/*
+ * Caches verified principals by the SHA-256 hash of their token, so repeated requests with the same token
+ * skip both the signature check and the member lookup.
+ * - entries expire exactly at the token's exp claim
+ * - every use compares the token's version with the member's token_version, which an update bumps and a delete removes;
+ *   versions are cached for token-version-ttl, so other instances see a revocation within that time,
+ *   and revocations survive restarts
+ * Metrics: auth.principal cache gets/evictions (hit ratio) and auth.principal.load (cost of each miss, i.e. latency saved per hit).
+ */
+@Component
+public class PrincipalCache {
+    private static final int MISSING_MEMBER = -1;
+
+    private final Cache<String, Entry> cache;
+    // member id -> current token version, MISSING_MEMBER once deleted
+    private final Cache<Long, Integer> tokenVersions;
+    private final MemberRepository memberRepository;
+    private final Timer loadTimer;
+
+    public PrincipalCache(
+        @Value("${auth.principal-cache.maximum-size:100000}") long maximumSize,
+        @Value("${auth.principal-cache.token-version-ttl:30s}") Duration tokenVersionTtl,
+        MemberRepository memberRepository,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+        this.tokenVersions = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(tokenVersionTtl)
+            .build();
+        this.memberRepository = memberRepository;
+        this.loadTimer = Timer.builder("auth.principal.load")
+            .description("Time spent verifying a token and looking up its member on a cache miss")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principal");
+    }
+
+    /**
+     * Returns the cached principal of the token, loading it on a miss.
+     *
+     * @param token the raw JWT token
+     * @param loader verifies the token and resolves its principal; may return {@code null} to skip caching
+     * @return the principal, or {@code null} if the loader could not resolve one
+     */
+    public AuthenticatedMember get(String token, Function<String, Entry> loader) {
+        final Entry entry = cache.get(hash(token), key -> loadTimer.record(() -> loader.apply(token)));
+        if (entry == null || entry.tokenVersion() != tokenVersion(entry.member().id())) {
+            return null;
+        }
+        return entry.member();
+    }
+
+    // called after the member's token version was bumped or the member deleted; other instances catch up within the ttl
+    public void invalidateMember(Long memberId) {
+        tokenVersions.invalidate(memberId);
+        cache.asMap().values().removeIf(entry -> entry.member().id().equals(memberId));
+    }
+
+    private int tokenVersion(Long memberId) {
+        return tokenVersions.get(memberId, id -> memberRepository.findTokenVersionById(id).orElse(MISSING_MEMBER));
+    }
+
+    private static String hash(String token) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Entry(AuthenticatedMember member, int tokenVersion, Instant expiresAt) {
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package gift.auth;
+
+import java.time.Instant;
+
+/**
+ * Verified claims of a service JWT.
+ *
+ * @param memberId the member id, or {@code null} for version 1 tokens
+ * @param email the subject of the token
+ * @param version the token format version
+ * @param issuedAt the issue time of the token
+ * @param expiresAt the expiration of the token
+ * @param tokenVersion the member's token version the token was issued for; 0 if the token predates it
+ */
+public record TokenClaims(Long memberId, String email, int version, Instant issuedAt, Instant expiresAt, int tokenVersion) {
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 
 @Entity
 public class Category {
@@ -15,6 +16,9 @@ public class Category {
     private String imageUrl;
     private String description;
 
+    @Version
+    private Long version;
+
     protected Category() {
     }
 
@@ -51,4 +55,8 @@ public class Category {
     public String getDescription() {
         return description;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -1,6 +1,10 @@
 package gift.category;
 
+import gift.product.ProductCatalogCache;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,32 +12,48 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
     private final CategoryRepository categoryRepository;
+    private final CategorySnapshots categorySnapshots;
+    private final ProductCatalogCache productCatalogCache;
 
-    public CategoryController(CategoryRepository categoryRepository) {
+    public CategoryController(
+        CategoryRepository categoryRepository,
+        CategorySnapshots categorySnapshots,
+        ProductCatalogCache productCatalogCache
+    ) {
         this.categoryRepository = categoryRepository;
+        this.categorySnapshots = categorySnapshots;
+        this.productCatalogCache = productCatalogCache;
     }
 
+    // served from the in-memory snapshot: pre-serialized JSON, 304 when the client's ETag is current
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getCategories() {
-        List<CategoryResponse> categories = categoryRepository.findAll().stream()
-            .map(CategoryResponse::from)
-            .toList();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getCategories(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        CategorySnapshot snapshot = categorySnapshots.current();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(snapshot.etag())
+            .body(snapshot.json());
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest request) {
         Category saved = categoryRepository.save(request.toEntity());
+        categorySnapshots.rebuild();
         return ResponseEntity.created(URI.create("/api/categories/" + saved.getId()))
             .body(CategoryResponse.from(saved));
     }
@@ -50,12 +70,16 @@ public class CategoryController {
 
         category.update(request.name(), request.color(), request.imageUrl(), request.description());
         categoryRepository.save(category);
+        categorySnapshots.rebuild();
         return ResponseEntity.ok(CategoryResponse.from(category));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
         categoryRepository.deleteById(id);
+        categorySnapshots.rebuild();
+        // cached products only carry the category id, so a category update leaves them valid
+        productCatalogCache.invalidateAll();
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,11 @@
+package gift.category;
+
+/**
+ * Cheap summary of the category table: any insert, update or delete changes at least one component.
+ *
+ * @param count the number of categories
+ * @param maxId the highest id, which a delete followed by an insert still moves
+ * @param versionSum the sum of the optimistic-lock versions, which every update bumps
+ */
+public record CategoryFingerprint(Long count, Long maxId, Long versionSum) {
+}
@@ -1,6 +1,11 @@
 package gift.category;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    // one aggregate row; CategorySnapshots compares it to decide whether the table changed elsewhere
+    @Query("select new gift.category.CategoryFingerprint(count(c), coalesce(max(c.id), 0L), coalesce(sum(c.version), 0L)) "
+        + "from Category c")
+    CategoryFingerprint findFingerprint();
 }
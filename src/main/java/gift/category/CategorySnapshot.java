@@ -0,0 +1,24 @@
+package gift.category;
+
+import gift.common.ETags;
+
+import java.util.List;
+
+/**
+ * Immutable view of all categories, serialized once per change.
+ *
+ * @param version incremented on every rebuild of this instance
+ * @param categories the categories
+ * @param json the pre-serialized JSON array of {@code categories}
+ * @param etag a strong ETag derived from the content of {@code json}, stable across instances and restarts
+ */
+public record CategorySnapshot(long version, List<CategoryResponse> categories, byte[] json, String etag) {
+    /**
+     * Evaluates an If-None-Match header value against this snapshot.
+     *
+     * @return {@code true} if the client already holds this snapshot
+     */
+    public boolean matches(String ifNoneMatch) {
+        return ETags.matches(ifNoneMatch, etag);
+    }
+}
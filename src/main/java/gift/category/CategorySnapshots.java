@@ -0,0 +1,115 @@
+package gift.category;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gift.common.ETags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Holds the current CategorySnapshot.
+ * Categories change a few times a year, so every write rebuilds the whole snapshot and swaps it atomically;
+ * reads are served from memory.
+ * - a write through this instance rebuilds right away
+ * - a write through another instance (or straight to the database) is not seen here until the next check:
+ *   at most once per check-interval, one reader compares CategoryFingerprint (one aggregate query) with the one
+ *   the snapshot was built from and rebuilds on a change, while other readers keep the current snapshot
+ * - so with several instances, categories are up to check-interval stale; the snapshot version counts
+ *   rebuilds of this instance only, the ETag is derived from the content and agrees across instances
+ */
+@Component
+public class CategorySnapshots {
+    private static final Logger log = LoggerFactory.getLogger(CategorySnapshots.class);
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final long checkIntervalNanos;
+    // not synchronized: rebuild queries the database, which would pin a virtual thread to its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile CategorySnapshot current;
+    // the table state current was built from, and when it was last compared (System.nanoTime)
+    private volatile CategoryFingerprint fingerprint;
+    private volatile long checkedAt;
+
+    public CategorySnapshots(
+        CategoryRepository categoryRepository,
+        ObjectMapper objectMapper,
+        @Value("${catalog.categories.check-interval:5s}") Duration checkInterval
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    public CategorySnapshot current() {
+        CategorySnapshot snapshot = current;
+        if (snapshot == null) {
+            return rebuild();
+        }
+        if (isCheckDue() && rebuildLock.tryLock()) {
+            try {
+                if (isCheckDue()) {
+                    checkForChanges();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+            return current;
+        }
+        return snapshot;
+    }
+
+    // call after a category write has committed
+    public CategorySnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isCheckDue() {
+        return System.nanoTime() - checkedAt >= checkIntervalNanos;
+    }
+
+    private void checkForChanges() {
+        try {
+            if (!categoryRepository.findFingerprint().equals(fingerprint)) {
+                rebuildLocked();
+            }
+        } catch (RuntimeException e) {
+            // keep serving the current snapshot; the next check retries
+            log.warn("Failed to check categories for changes.", e);
+        }
+        checkedAt = System.nanoTime();
+    }
+
+    private CategorySnapshot rebuildLocked() {
+        // read before the rows: a write in between makes the next check rebuild again instead of being missed
+        CategoryFingerprint source = categoryRepository.findFingerprint();
+        List<CategoryResponse> categories = categoryRepository.findAll().stream()
+            .map(CategoryResponse::from)
+            .toList();
+        byte[] json = serialize(categories);
+        long version = current == null ? 1 : current.version() + 1;
+        current = new CategorySnapshot(version, categories, json, ETags.hashOf(json));
+        fingerprint = source;
+        checkedAt = System.nanoTime();
+        return current;
+    }
+
+    private byte[] serialize(List<CategoryResponse> categories) {
+        try {
+            return objectMapper.writeValueAsBytes(categories);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gift.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/*
+ * Paging, sorting and prefix filter parameters of the admin list pages, bound from the query string.
+ * - q: prefix of the indexed text column (member email, product name); blank for no filter
+ * - sort: restricted by the caller to indexed columns, falls back to id
+ * - size: at most Cursors.MAX_SIZE rows per page
+ */
+public record AdminListQuery(String q, Integer page, Integer size, String sort, String direction) {
+    private static final int DEFAULT_SIZE = 20;
+
+    public AdminListQuery {
+        q = q == null ? "" : q.strip();
+        page = page == null || page < 0 ? 0 : page;
+        size = size == null || size < 1 ? DEFAULT_SIZE : Math.min(size, Cursors.MAX_SIZE);
+        sort = sort == null || sort.isBlank() ? "id" : sort;
+        direction = "desc".equalsIgnoreCase(direction) ? "desc" : "asc";
+    }
+
+    public boolean filtered() {
+        return !q.isEmpty();
+    }
+
+    public Pageable pageable(Set<String> sortable) {
+        String property = sortable.contains(sort) ? sort : "id";
+        Sort order = Sort.by(Sort.Direction.fromString(direction), property);
+        if (!property.equals("id")) {
+            order = order.and(Sort.by("id"));
+        }
+        return PageRequest.of(page, size, order);
+    }
+}
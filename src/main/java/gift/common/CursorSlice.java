@@ -0,0 +1,29 @@
+package gift.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing.
+ * Unlike {@link org.springframework.data.domain.Page}, it carries no total count.
+ *
+ * @param content the items of this slice
+ * @param nextCursor the opaque cursor of the next slice, or {@code null} if this is the last one
+ * @param hasNext whether another slice follows
+ */
+public record CursorSlice<T>(List<T> content, String nextCursor, boolean hasNext) {
+    /**
+     * Builds a slice from a query that fetched one row more than the requested size.
+     *
+     * @param fetched up to {@code size + 1} rows in cursor order
+     * @param size the requested slice size
+     * @param cursorOf encodes the cursor of a row
+     */
+    public static <T> CursorSlice<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorSlice<>(fetched, null, false);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorSlice<>(content, cursorOf.apply(content.get(size - 1)), true);
+    }
+}
@@ -0,0 +1,86 @@
+package gift.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/*
+ * Encodes keyset positions as opaque URL-safe cursors.
+ * - id cursor: the last seen id
+ * - time cursor: the last seen (timestamp, id) pair
+ * An empty cursor means "first slice".
+ */
+public final class Cursors {
+    public static final int MAX_SIZE = 100;
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static long decodeId(String cursor) {
+        if (cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public static String encodeTime(LocalDateTime dateTime, Long id) {
+        return encode(dateTime + SEPARATOR + id);
+    }
+
+    /**
+     * @return the decoded position, or {@code null} for an empty cursor
+     */
+    public static TimePosition decodeTime(String cursor) {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        String decoded = decode(cursor);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid();
+        }
+        try {
+            return new TimePosition(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    public static int validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_SIZE + " 이하여야 합니다.");
+        }
+        return size;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("유효하지 않은 커서입니다.");
+    }
+
+    public record TimePosition(LocalDateTime dateTime, Long id) {
+    }
+}
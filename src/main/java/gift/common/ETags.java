@@ -0,0 +1,51 @@
+package gift.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+ * Builds strong ETags and evaluates If-None-Match headers (weak comparison, as RFC 9110 requires for If-None-Match).
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(String value) {
+        return "\"" + value + "\"";
+    }
+
+    // ETag from a hash of arbitrary content, e.g. the (id, version) pairs of a listing
+    public static String hashOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return of(HexFormat.of().formatHex(digest, 0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hashOf(String content) {
+        return hashOf(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@code true} if the If-None-Match header value lists the given ETag (or is "*")
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
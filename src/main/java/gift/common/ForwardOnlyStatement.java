@@ -0,0 +1,25 @@
+package gift.common;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/*
+ * Read-only, forward-only statement with a fetch size hint, for streaming large result sets row by row.
+ * MySQL Connector/J only honors the fetch size with useCursorFetch=true in the JDBC URL;
+ * otherwise it buffers the whole result set on the client.
+ */
+public record ForwardOnlyStatement(String sql, int fetchSize, Object... parameters) implements PreparedStatementCreator {
+    @Override
+    public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,31 @@
+package gift.kakao;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/*
+ * Writes integers with the grouping separator and grouping size of a locale ("3,360,000" for ko-KR),
+ * straight into a StringBuilder. Immutable, so one instance is shared by every message.
+ */
+public final class GroupedNumberFormat {
+    private final char separator;
+    private final int groupingSize;
+
+    public GroupedNumberFormat(Locale locale) {
+        this.separator = DecimalFormatSymbols.getInstance(locale).getGroupingSeparator();
+        NumberFormat format = NumberFormat.getIntegerInstance(locale);
+        this.groupingSize = format instanceof DecimalFormat decimal && decimal.getGroupingSize() > 0
+            ? decimal.getGroupingSize()
+            : 3;
+    }
+
+    public void appendTo(long value, StringBuilder out) {
+        int start = out.length() + (value < 0 ? 1 : 0);
+        out.append(value);
+        for (int i = out.length() - groupingSize; i > start; i -= groupingSize) {
+            out.insert(i, separator);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package gift.kakao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+ * Base URLs of the Kakao endpoints.
+ * Overridable so that load tests and local runs can point the clients at a fake server.
+ */
+@ConfigurationProperties(prefix = "kakao.api")
+public record KakaoApiProperties(String authBaseUrl, String apiBaseUrl) {
+}
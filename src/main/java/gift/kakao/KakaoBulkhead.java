@@ -0,0 +1,58 @@
+package gift.kakao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Caps concurrent calls to kauth/kapi.kakao.com.
+ * With virtual threads nothing else bounds how many requests wait on Kakao at once,
+ * so a slow Kakao would otherwise turn into an unbounded pile of open connections.
+ * Callers wait up to max-wait for a permit, then fail fast with KakaoBulkheadFullException.
+ * Metrics: kakao.bulkhead.available (permits), kakao.bulkhead.rejected (calls turned away).
+ */
+@Component
+public class KakaoBulkhead {
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    public KakaoBulkhead(
+        @Value("${kakao.bulkhead.max-concurrent-calls:64}") int maxConcurrentCalls,
+        @Value("${kakao.bulkhead.max-wait:500ms}") Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+        this.rejected = meterRegistry.counter("kakao.bulkhead.rejected");
+        Gauge.builder("kakao.bulkhead.available", permits, Semaphore::availablePermits).register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new KakaoBulkheadFullException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KakaoBulkheadFullException();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package gift.kakao;
+
+public class KakaoBulkheadFullException extends KakaoUnavailableException {
+    public KakaoBulkheadFullException() {
+        super("카카오 API 요청이 많아 잠시 후 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,122 @@
+package gift.kakao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Count-based circuit breaker for one Kakao endpoint.
+ * - CLOSED: calls pass; the outcomes of the last slidingWindowSize calls are kept, and once at least minimumCalls
+ *   are recorded a failure rate at or above the threshold opens the circuit
+ * - OPEN: calls are rejected until openDuration has passed, then the circuit turns HALF_OPEN
+ * - HALF_OPEN: up to halfOpenCalls probe calls pass; all of them succeeding closes the circuit, any failure reopens it
+ * Outcomes of calls that started in an earlier state are ignored, so a slow call admitted while CLOSED cannot
+ * close a circuit that has since opened.
+ * Metric: kakao.client.circuit.state (0 closed, 1 half-open, 2 open) tagged by endpoint.
+ */
+public class KakaoCircuitBreaker {
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String endpoint;
+    private final KakaoHttpProperties.CircuitBreaker properties;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public KakaoCircuitBreaker(String endpoint, KakaoHttpProperties.CircuitBreaker properties, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.properties = properties;
+        this.window = new boolean[properties.slidingWindowSize()];
+        Gauge.builder("kakao.client.circuit.state", this, breaker -> breaker.state().ordinal())
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if the call is a half-open probe; pass it back to the outcome methods
+     * @throws KakaoCircuitOpenException if the call must not be made
+     */
+    public synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < properties.openDuration().toNanos()) {
+                throw new KakaoCircuitOpenException(endpoint);
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= properties.halfOpenCalls()) {
+                throw new KakaoCircuitOpenException(endpoint);
+            }
+            probesInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probeSuccesses >= properties.halfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (!probe && state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (!probe && state == State.CLOSED) {
+            record(true);
+            if (recorded >= properties.minimumCalls() && failures * 100 >= properties.failureRateThreshold() * recorded) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    // the permission was granted but the call was never made
+    public synchronized void release(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        recorded = 0;
+        failures = 0;
+        windowIndex = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+    }
+}
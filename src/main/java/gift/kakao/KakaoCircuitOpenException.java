@@ -0,0 +1,7 @@
+package gift.kakao;
+
+public class KakaoCircuitOpenException extends KakaoUnavailableException {
+    public KakaoCircuitOpenException(String endpoint) {
+        super("카카오 API(" + endpoint + ")가 일시적으로 응답하지 않아 잠시 후 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,105 @@
+package gift.kakao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+ * One Kakao endpoint: its RestClient (with the endpoint's read timeout), circuit breaker and metrics.
+ * A call passes the circuit breaker, then the shared KakaoBulkhead, then goes out over the shared connection pool.
+ * - 5xx, 429, timeouts and connection errors count as failures for the circuit breaker
+ * - other 4xx mean Kakao is up and count as successes (the error is still thrown to the caller)
+ * Metrics, tagged by endpoint:
+ * - kakao.client.requests: latency histogram, also tagged by outcome
+ * - kakao.client.in-flight: calls currently holding a connection
+ * - kakao.client.rejected: calls refused by the circuit breaker or the bulkhead, tagged by reason
+ */
+public class KakaoEndpoint {
+    private final String name;
+    private final RestClient restClient;
+    private final KakaoCircuitBreaker circuitBreaker;
+    private final KakaoBulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight;
+
+    KakaoEndpoint(
+        String name,
+        RestClient restClient,
+        KakaoCircuitBreaker circuitBreaker,
+        KakaoBulkhead bulkhead,
+        MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.restClient = restClient;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = meterRegistry.gauge("kakao.client.in-flight", Tags.of("endpoint", name), new AtomicInteger());
+    }
+
+    public <T> T call(Function<RestClient, T> request) {
+        boolean probe;
+        try {
+            probe = circuitBreaker.acquirePermission();
+        } catch (KakaoCircuitOpenException e) {
+            meterRegistry.counter("kakao.client.rejected", "endpoint", name, "reason", "circuit_open").increment();
+            throw e;
+        }
+        try {
+            return bulkhead.call(() -> execute(request, probe));
+        } catch (KakaoBulkheadFullException e) {
+            circuitBreaker.release(probe);
+            meterRegistry.counter("kakao.client.rejected", "endpoint", name, "reason", "bulkhead_full").increment();
+            throw e;
+        }
+    }
+
+    private <T> T execute(Function<RestClient, T> request, boolean probe) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        inFlight.incrementAndGet();
+        try {
+            T result = request.apply(restClient);
+            circuitBreaker.onSuccess(probe);
+            return result;
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                outcome = "rate_limited";
+                circuitBreaker.onFailure(probe);
+            } else {
+                outcome = "client_error";
+                circuitBreaker.onSuccess(probe);
+            }
+            throw e;
+        } catch (HttpServerErrorException e) {
+            outcome = "server_error";
+            circuitBreaker.onFailure(probe);
+            throw e;
+        } catch (ResourceAccessException e) {
+            outcome = "io_error";
+            circuitBreaker.onFailure(probe);
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            circuitBreaker.onFailure(probe);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            Timer.builder("kakao.client.requests")
+                .tag("endpoint", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
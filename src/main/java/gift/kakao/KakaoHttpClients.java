@@ -0,0 +1,75 @@
+package gift.kakao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/*
+ * Dedicated outbound HTTP layer for Kakao.
+ * One JDK HttpClient is shared by every endpoint: it keeps connections alive and pools them per host,
+ * and negotiates HTTP/2 via ALPN where the server supports it (HTTP/1.1 otherwise).
+ * Each endpoint gets its own read timeout and circuit breaker; all of them share the KakaoBulkhead.
+ */
+@Component
+public class KakaoHttpClients {
+    private final KakaoEndpoint token;
+    private final KakaoEndpoint userInfo;
+    private final KakaoEndpoint message;
+
+    public KakaoHttpClients(
+        KakaoHttpProperties properties,
+        RestClient.Builder builder,
+        KakaoBulkhead bulkhead,
+        MeterRegistry meterRegistry
+    ) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.connectTimeout())
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        this.token = endpoint("token", properties.tokenReadTimeout(), httpClient, properties, builder, bulkhead, meterRegistry);
+        this.userInfo = endpoint("user-info", properties.userInfoReadTimeout(), httpClient, properties, builder, bulkhead, meterRegistry);
+        this.message = endpoint("message", properties.messageReadTimeout(), httpClient, properties, builder, bulkhead, meterRegistry);
+    }
+
+    // kauth.kakao.com/oauth/token
+    public KakaoEndpoint token() {
+        return token;
+    }
+
+    // kapi.kakao.com/v2/user/me
+    public KakaoEndpoint userInfo() {
+        return userInfo;
+    }
+
+    // kapi.kakao.com/v2/api/talk/memo/default/send
+    public KakaoEndpoint message() {
+        return message;
+    }
+
+    private static KakaoEndpoint endpoint(
+        String name,
+        Duration readTimeout,
+        HttpClient httpClient,
+        KakaoHttpProperties properties,
+        RestClient.Builder builder,
+        KakaoBulkhead bulkhead,
+        MeterRegistry meterRegistry
+    ) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        RestClient restClient = builder.clone().requestFactory(requestFactory).build();
+        return new KakaoEndpoint(
+            name,
+            restClient,
+            new KakaoCircuitBreaker(name, properties.circuitBreaker(), meterRegistry),
+            bulkhead,
+            meterRegistry
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package gift.kakao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * Outbound HTTP settings for Kakao: one shared connection pool, read timeouts per endpoint,
+ * and the circuit breaker applied to each endpoint separately.
+ */
+@ConfigurationProperties(prefix = "kakao.http")
+public record KakaoHttpProperties(
+    Duration connectTimeout,
+    Duration tokenReadTimeout,
+    Duration userInfoReadTimeout,
+    Duration messageReadTimeout,
+    CircuitBreaker circuitBreaker
+) {
+    /**
+     * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+     * @param slidingWindowSize number of most recent calls the failure rate is computed over
+     * @param minimumCalls calls required in the window before the failure rate is evaluated
+     * @param openDuration how long an open circuit rejects calls before probing
+     * @param halfOpenCalls probe calls that must all succeed to close the circuit again
+     */
+    public record CircuitBreaker(
+        int failureRateThreshold,
+        int slidingWindowSize,
+        int minimumCalls,
+        Duration openDuration,
+        int halfOpenCalls
+    ) {
+    }
+}
@@ -0,0 +1,110 @@
+package gift.kakao;
+
+/*
+ * Minimal streaming JSON writer for Kakao template objects: objects, names and string values only.
+ * String content is escaped as it is written, so user input (e.g. an order message) cannot break the payload.
+ * A string value can also be written in pieces between beginString() and endString().
+ */
+public final class KakaoJsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder out;
+    private final GroupedNumberFormat numberFormat;
+    private boolean needsComma;
+
+    KakaoJsonWriter(int capacity, GroupedNumberFormat numberFormat) {
+        this.out = new StringBuilder(capacity);
+        this.numberFormat = numberFormat;
+    }
+
+    public KakaoJsonWriter beginObject() {
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    public KakaoJsonWriter endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    public KakaoJsonWriter name(String name) {
+        if (needsComma) {
+            out.append(',');
+        }
+        out.append('"');
+        escape(name, out);
+        out.append("\":");
+        needsComma = false;
+        return this;
+    }
+
+    public KakaoJsonWriter value(CharSequence value) {
+        return beginString().text(value).endString();
+    }
+
+    public KakaoJsonWriter beginString() {
+        out.append('"');
+        return this;
+    }
+
+    public KakaoJsonWriter endString() {
+        out.append('"');
+        needsComma = true;
+        return this;
+    }
+
+    // inside a string
+    public KakaoJsonWriter text(CharSequence text) {
+        escape(text, out);
+        return this;
+    }
+
+    // inside a string
+    public KakaoJsonWriter number(long value) {
+        out.append(value);
+        return this;
+    }
+
+    // inside a string, with the locale's grouping separators
+    public KakaoJsonWriter groupedNumber(long value) {
+        numberFormat.appendTo(value, out);
+        return this;
+    }
+
+    // inside a string; text that was escaped in advance
+    KakaoJsonWriter escapedText(String escaped) {
+        out.append(escaped);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    static void escape(CharSequence text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> {
+                    // line and paragraph separators are valid JSON but break JavaScript consumers
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                            .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
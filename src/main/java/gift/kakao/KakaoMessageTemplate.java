@@ -0,0 +1,145 @@
+package gift.kakao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/*
+ * Message text compiled once from a template such as "{{productName}} ({{optionName}}){{#message}}\n💌 {{message}}{{/message}}".
+ * - {{name}} writes a variable; {{#name}}...{{/name}} is written only when the variable is present
+ * - variables are resolved to indices at compile time, so a typo in a template fails at startup
+ * - literal text is JSON-escaped at compile time; only variables are escaped while rendering
+ * Rendering writes into the string value the KakaoJsonWriter is currently in.
+ */
+public final class KakaoMessageTemplate {
+    private final Segment[] segments;
+    private final int literalLength;
+
+    private KakaoMessageTemplate(Segment[] segments) {
+        this.segments = segments;
+        this.literalLength = literalLength(segments);
+    }
+
+    public static KakaoMessageTemplate compile(String source, List<String> variables) {
+        List<Segment> segments = new ArrayList<>();
+        int end = parse(source, 0, null, variables, segments);
+        if (end != source.length()) {
+            throw new IllegalArgumentException("Unexpected section end at " + end + ": " + source);
+        }
+        return new KakaoMessageTemplate(segments.toArray(Segment[]::new));
+    }
+
+    public void render(KakaoJsonWriter out, Arguments arguments) {
+        render(segments, out, arguments, variable -> true);
+    }
+
+    // present: whether a section's variable has a value
+    public void render(KakaoJsonWriter out, Arguments arguments, IntPredicate present) {
+        render(segments, out, arguments, present);
+    }
+
+    // length of the literal text, a lower bound for sizing buffers
+    public int literalLength() {
+        return literalLength;
+    }
+
+    private static void render(Segment[] segments, KakaoJsonWriter out, Arguments arguments, IntPredicate present) {
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Literal literal -> out.escapedText(literal.escaped());
+                case Variable variable -> arguments.write(variable.index(), out);
+                case Section section -> {
+                    if (present.test(section.index())) {
+                        render(section.segments(), out, arguments, present);
+                    }
+                }
+            }
+        }
+    }
+
+    // parses until the end of the source or the {{/section}} tag; returns the position after it
+    private static int parse(String source, int from, String section, List<String> variables, List<Segment> segments) {
+        int position = from;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                open = source.length();
+            }
+            if (open > position) {
+                StringBuilder escaped = new StringBuilder();
+                KakaoJsonWriter.escape(source.substring(position, open), escaped);
+                segments.add(new Literal(escaped.toString()));
+            }
+            if (open == source.length()) {
+                break;
+            }
+            int close = source.indexOf("}}", open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed tag at " + open + ": " + source);
+            }
+            String tag = source.substring(open + 2, close).strip();
+            position = close + 2;
+            if (tag.startsWith("/")) {
+                if (!tag.substring(1).equals(section)) {
+                    throw new IllegalArgumentException("Unexpected {{" + tag + "}}: " + source);
+                }
+                return position;
+            }
+            if (tag.startsWith("#")) {
+                String name = tag.substring(1);
+                List<Segment> children = new ArrayList<>();
+                position = parse(source, position, name, variables, children);
+                segments.add(new Section(indexOf(name, variables, source), children.toArray(Segment[]::new)));
+            } else {
+                segments.add(new Variable(indexOf(tag, variables, source)));
+            }
+        }
+        if (section != null) {
+            throw new IllegalArgumentException("Missing {{/" + section + "}}: " + source);
+        }
+        return source.length();
+    }
+
+    private static int indexOf(String name, List<String> variables, String source) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown variable " + name + ", expected one of " + variables + ": " + source);
+        }
+        return index;
+    }
+
+    private static int literalLength(Segment[] segments) {
+        int length = 0;
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                length += literal.escaped().length();
+            } else if (segment instanceof Section section) {
+                length += literalLength(section.segments());
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the value of a variable, given by its position in the list the template was compiled with.
+     */
+    @FunctionalInterface
+    public interface Arguments {
+        Arguments NONE = (variable, out) -> {
+        };
+
+        void write(int variable, KakaoJsonWriter out);
+    }
+
+    private sealed interface Segment permits Literal, Variable, Section {
+    }
+
+    private record Literal(String escaped) implements Segment {
+    }
+
+    private record Variable(int index) implements Segment {
+    }
+
+    private record Section(int index, Segment[] segments) implements Segment {
+    }
+}
@@ -0,0 +1,57 @@
+package gift.kakao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/*
+ * Source of Kakao message templates: a UTF-8 properties file, by default the bundled
+ * classpath:kakao/message-templates.properties. Ops can point kakao.message.templates at a file:
+ * location to change wording without a new build; templates are read at startup.
+ * Numbers are grouped for kakao.message.locale.
+ */
+@Component
+public class KakaoMessageTemplates {
+    private final Properties templates = new Properties();
+    private final GroupedNumberFormat numberFormat;
+
+    public KakaoMessageTemplates(
+        ResourceLoader resourceLoader,
+        @Value("${kakao.message.templates:classpath:kakao/message-templates.properties}") String location,
+        @Value("${kakao.message.locale:ko-KR}") Locale locale
+    ) {
+        Resource resource = resourceLoader.getResource(location);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            templates.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read Kakao message templates from " + location, e);
+        }
+        this.numberFormat = new GroupedNumberFormat(locale);
+    }
+
+    public KakaoMessageTemplate compile(String key, List<String> variables) {
+        String source = templates.getProperty(key);
+        if (source == null) {
+            throw new IllegalStateException("Kakao message template " + key + " is not defined.");
+        }
+        try {
+            return KakaoMessageTemplate.compile(source, variables);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Kakao message template " + key + " is invalid. " + e.getMessage(), e);
+        }
+    }
+
+    public KakaoJsonWriter newWriter(int capacity) {
+        return new KakaoJsonWriter(capacity, numberFormat);
+    }
+}
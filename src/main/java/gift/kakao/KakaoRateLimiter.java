@@ -0,0 +1,55 @@
+package gift.kakao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * Rate limits for Kakao "send to me": a token bucket per access token (one user's quota)
+ * and one for the whole application (the app quota).
+ * Idle per-token buckets are dropped after they would have refilled anyway.
+ */
+@Component
+public class KakaoRateLimiter {
+    private final TokenBucket global;
+    private final Cache<String, TokenBucket> perToken;
+    private final int perTokenPerMinute;
+
+    public KakaoRateLimiter(
+        @Value("${kakao.rate-limit.global-per-second:100}") int globalPerSecond,
+        @Value("${kakao.rate-limit.per-token-per-minute:10}") int perTokenPerMinute,
+        @Value("${kakao.rate-limit.max-tracked-tokens:100000}") long maxTrackedTokens
+    ) {
+        this.global = new TokenBucket(globalPerSecond, Duration.ofSeconds(1));
+        this.perTokenPerMinute = perTokenPerMinute;
+        this.perToken = Caffeine.newBuilder()
+            .maximumSize(maxTrackedTokens)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+    }
+
+    /**
+     * Takes one permit from both buckets, or none.
+     */
+    public Permit tryAcquire(String accessToken) {
+        TokenBucket bucket = perToken.get(accessToken, key -> new TokenBucket(perTokenPerMinute, Duration.ofMinutes(1)));
+        if (!bucket.tryAcquire()) {
+            return new Permit(false, "token", bucket.timeUntilAvailable());
+        }
+        if (!global.tryAcquire()) {
+            bucket.refund();
+            return new Permit(false, "global", global.timeUntilAvailable());
+        }
+        return new Permit(true, null, Duration.ZERO);
+    }
+
+    /**
+     * @param limitedBy "token" or "global" when not granted
+     * @param retryAfter earliest time the limiting bucket has a permit again
+     */
+    public record Permit(boolean granted, String limitedBy, Duration retryAfter) {
+    }
+}
@@ -0,0 +1,11 @@
+package gift.kakao;
+
+/*
+ * Kakao was not called because it is currently considered unavailable (circuit open) or saturated (bulkhead full).
+ * Callers should answer 503 or retry later.
+ */
+public class KakaoUnavailableException extends RuntimeException {
+    public KakaoUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package gift.kakao;
+
+import java.time.Duration;
+
+/*
+ * Token bucket: holds up to capacity permits and refills capacity permits per period, continuously.
+ * A full bucket allows a burst of capacity calls.
+ */
+public class TokenBucket {
+    private final long capacity;
+    private final double permitsPerNano;
+    private double permits;
+    private long refilledAt;
+
+    public TokenBucket(long capacity, Duration period) {
+        this.capacity = capacity;
+        this.permitsPerNano = (double) capacity / period.toNanos();
+        this.permits = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (permits < 1) {
+            return false;
+        }
+        permits--;
+        return true;
+    }
+
+    // gives back a permit taken for a call that was not made
+    public synchronized void refund() {
+        permits = Math.min(capacity, permits + 1);
+    }
+
+    public synchronized Duration timeUntilAvailable() {
+        refill();
+        if (permits >= 1) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.ceil((1 - permits) / permitsPerNano));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
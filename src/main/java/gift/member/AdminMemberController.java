@@ -1,6 +1,13 @@
 package gift.member;
 
+import gift.auth.PrincipalCache;
+import gift.common.AdminListQuery;
+import gift.common.ExportFormat;
+import gift.common.ExportWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,6 +16,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.io.IOException;
+import java.util.Set;
+
 /**
  * Admin controller for managing members.
  *
@@ -18,19 +28,43 @@ import org.springframework.web.bind.annotation.RequestParam;
 @Controller
 @RequestMapping("/admin/members")
 public class AdminMemberController {
+    private static final Set<String> SORTABLE = Set.of("id", "email");
+
     private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
+    private final MemberExportRepository memberExportRepository;
 
     @Autowired
-    public AdminMemberController(MemberRepository memberRepository) {
+    public AdminMemberController(
+        MemberRepository memberRepository,
+        PrincipalCache principalCache,
+        MemberExportRepository memberExportRepository
+    ) {
         this.memberRepository = memberRepository;
+        this.principalCache = principalCache;
+        this.memberExportRepository = memberExportRepository;
     }
 
     @GetMapping
-    public String list(Model model) {
-        model.addAttribute("members", memberRepository.findAll());
+    public String list(AdminListQuery query, Model model) {
+        Pageable pageable = query.pageable(SORTABLE);
+        model.addAttribute("members", query.filtered()
+            ? memberRepository.findByEmailStartingWith(query.q(), pageable)
+            : memberRepository.findAllBy(pageable));
+        model.addAttribute("query", query);
         return "member/list";
     }
 
+    /**
+     * Streams all members as CSV or NDJSON; memory use does not depend on the number of members.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "CSV") ExportFormat format, HttpServletResponse response) throws IOException {
+        response.setContentType(format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.filename("members") + "\"");
+        memberExportRepository.export(new ExportWriter(format, response.getOutputStream(), MemberExportRepository.COLUMNS));
+    }
+
     @GetMapping("/new")
     public String newForm() {
         return "member/new";
@@ -65,10 +99,10 @@ public class AdminMemberController {
         @RequestParam String email,
         @RequestParam String password
     ) {
-        final Member member = memberRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Member not found. id=" + id));
-        member.update(email, password);
-        memberRepository.save(member);
+        if (memberRepository.updateCredentials(id, email, password) == 0) {
+            throw new IllegalArgumentException("Member not found. id=" + id);
+        }
+        principalCache.invalidateMember(id);
         return "redirect:/admin/members";
     }
 
@@ -77,16 +111,19 @@ public class AdminMemberController {
         @PathVariable Long id,
         @RequestParam int amount
     ) {
-        final Member member = memberRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Member not found. id=" + id));
-        member.chargePoint(amount);
-        memberRepository.save(member);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero.");
+        }
+        if (memberRepository.chargePoint(id, amount) == 0) {
+            throw new IllegalArgumentException("Member not found. id=" + id);
+        }
         return "redirect:/admin/members";
     }
 
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id) {
         memberRepository.deleteById(id);
+        principalCache.invalidateMember(id);
         return "redirect:/admin/members";
     }
 
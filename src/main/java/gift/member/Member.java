@@ -5,6 +5,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a registered member.
  *
@@ -23,8 +25,19 @@ public class Member {
 
     private String kakaoAccessToken;
 
+    // null for tokens stored before expiry was recorded
+    private LocalDateTime kakaoAccessTokenExpiresAt;
+
+    private String kakaoRefreshToken;
+
+    private LocalDateTime kakaoRefreshTokenExpiresAt;
+
+    // changed only by the single-statement updates in MemberRepository (chargePoint, deductPoint)
     private int point;
 
+    // bumped with the credentials; tokens issued for an older version are rejected
+    private int tokenVersion;
+
     protected Member() {
     }
 
@@ -37,31 +50,16 @@ public class Member {
         this.email = email;
     }
 
-    public void update(String email, String password) {
-        this.email = email;
-        this.password = password;
-    }
-
-    public void updateKakaoAccessToken(String kakaoAccessToken) {
-        this.kakaoAccessToken = kakaoAccessToken;
-    }
-
-    public void chargePoint(int amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Amount must be greater than zero.");
-        }
-        this.point += amount;
-    }
-
-    // point deduction for order payment
-    public void deductPoint(int amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("차감 금액은 1 이상이어야 합니다.");
-        }
-        if (amount > this.point) {
-            throw new IllegalArgumentException("포인트가 부족합니다.");
-        }
-        this.point -= amount;
+    public void updateKakaoTokens(
+        String accessToken,
+        LocalDateTime accessTokenExpiresAt,
+        String refreshToken,
+        LocalDateTime refreshTokenExpiresAt
+    ) {
+        this.kakaoAccessToken = accessToken;
+        this.kakaoAccessTokenExpiresAt = accessTokenExpiresAt;
+        this.kakaoRefreshToken = refreshToken;
+        this.kakaoRefreshTokenExpiresAt = refreshTokenExpiresAt;
     }
 
     public Long getId() {
@@ -80,7 +78,23 @@ public class Member {
         return kakaoAccessToken;
     }
 
+    public LocalDateTime getKakaoAccessTokenExpiresAt() {
+        return kakaoAccessTokenExpiresAt;
+    }
+
+    public String getKakaoRefreshToken() {
+        return kakaoRefreshToken;
+    }
+
+    public LocalDateTime getKakaoRefreshTokenExpiresAt() {
+        return kakaoRefreshTokenExpiresAt;
+    }
+
     public int getPoint() {
         return point;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
 }
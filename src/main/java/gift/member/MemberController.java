@@ -37,7 +37,7 @@ public class MemberController {
         }
 
         final Member member = memberRepository.save(new Member(request.email(), request.password()));
-        final String token = jwtProvider.createToken(member.getEmail());
+        final String token = jwtProvider.createToken(member.getId(), member.getEmail(), member.getTokenVersion());
         return ResponseEntity.status(HttpStatus.CREATED).body(new TokenResponse(token));
     }
 
@@ -50,7 +50,7 @@ public class MemberController {
             throw new IllegalArgumentException("Invalid email or password.");
         }
 
-        final String token = jwtProvider.createToken(member.getEmail());
+        final String token = jwtProvider.createToken(member.getId(), member.getEmail(), member.getTokenVersion());
         return ResponseEntity.ok(new TokenResponse(token));
     }
 
@@ -0,0 +1,33 @@
+package gift.member;
+
+import gift.common.ExportWriter;
+import gift.common.ForwardOnlyStatement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/*
+ * Streams members for analytics. Credentials (password, Kakao token) are never exported.
+ */
+@Repository
+public class MemberExportRepository {
+    public static final List<String> COLUMNS = List.of("id", "email", "point");
+    private static final String SELECT_MEMBERS = "select id, email, point from member order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public MemberExportRepository(JdbcTemplate jdbcTemplate, @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public void export(ExportWriter writer) {
+        jdbcTemplate.query(new ForwardOnlyStatement(SELECT_MEMBERS, fetchSize), resultSet -> {
+            writer.writeRow(resultSet.getLong("id"), resultSet.getString("email"), resultSet.getInt("point"));
+        });
+        writer.flush();
+    }
+}
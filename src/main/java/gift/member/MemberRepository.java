@@ -1,7 +1,16 @@
 package gift.member;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,5 +22,90 @@ import java.util.Optional;
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
 
+    @Query("select m.tokenVersion from Member m where m.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
     boolean existsByEmail(String email);
+
+    // admin list: slices skip the count query, prefix matches use the unique email index
+    Slice<Member> findAllBy(Pageable pageable);
+
+    Slice<Member> findByEmailStartingWith(String prefix, Pageable pageable);
+
+    /**
+     * Deducts points with a single conditional update so concurrent payments cannot overdraw the balance.
+     *
+     * @param id the member id
+     * @param amount the points to deduct
+     * @return 1 if the points were deducted, 0 if the member is missing or has too few points
+     */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.point = m.point - :amount where m.id = :id and m.point >= :amount")
+    int deductPoint(@Param("id") Long id, @Param("amount") int amount);
+
+    /**
+     * Adds points with a single update, so a concurrent deduction is not overwritten by a stale balance.
+     *
+     * @return 1 if the member exists
+     */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.point = m.point + :amount where m.id = :id")
+    int chargePoint(@Param("id") Long id, @Param("amount") int amount);
+
+    // admin edit: writes the credentials only, leaving the point balance to the conditional updates,
+    // and revokes the member's tokens by bumping the token version
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.email = :email, m.password = :password, m.tokenVersion = m.tokenVersion + 1 "
+        + "where m.id = :id")
+    int updateCredentials(@Param("id") Long id, @Param("email") String email, @Param("password") String password);
+
+    /**
+     * Stores refreshed Kakao tokens without touching the rest of the row, so concurrent point updates are not lost.
+     * Kakao only issues a new refresh token when the old one is close to expiry; a null one keeps the stored token.
+     *
+     * @return 1 if the member exists
+     */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.kakaoAccessToken = :accessToken, m.kakaoAccessTokenExpiresAt = :accessTokenExpiresAt, "
+        + "m.kakaoRefreshToken = coalesce(:refreshToken, m.kakaoRefreshToken), "
+        + "m.kakaoRefreshTokenExpiresAt = coalesce(:refreshTokenExpiresAt, m.kakaoRefreshTokenExpiresAt) "
+        + "where m.id = :id")
+    int updateKakaoTokens(
+        @Param("id") Long id,
+        @Param("accessToken") String accessToken,
+        @Param("accessTokenExpiresAt") LocalDateTime accessTokenExpiresAt,
+        @Param("refreshToken") String refreshToken,
+        @Param("refreshTokenExpiresAt") LocalDateTime refreshTokenExpiresAt
+    );
+
+    /**
+     * Forgets Kakao tokens that can no longer be used or refreshed.
+     * Only clears the given access token, so a login that raced the refresh keeps its new token.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.kakaoAccessToken = null, m.kakaoAccessTokenExpiresAt = null, "
+        + "m.kakaoRefreshToken = null, m.kakaoRefreshTokenExpiresAt = null "
+        + "where m.id = :id and m.kakaoAccessToken = :accessToken")
+    int clearKakaoTokens(@Param("id") Long id, @Param("accessToken") String accessToken);
+
+    // marks an access token Kakao rejected as expired, unless it has been replaced in the meantime
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.kakaoAccessTokenExpiresAt = :now where m.id = :id and m.kakaoAccessToken = :accessToken")
+    int expireKakaoAccessToken(@Param("id") Long id, @Param("accessToken") String accessToken, @Param("now") LocalDateTime now);
+
+    // members whose Kakao access token lapses before the threshold and can still be refreshed, soonest first
+    @Query("select m.id from Member m where m.kakaoAccessTokenExpiresAt < :threshold and m.kakaoRefreshToken is not null "
+        + "and (m.kakaoRefreshTokenExpiresAt is null or m.kakaoRefreshTokenExpiresAt > :now) "
+        + "order by m.kakaoAccessTokenExpiresAt")
+    List<Long> findIdsWithKakaoAccessTokenExpiringBefore(
+        @Param("threshold") LocalDateTime threshold,
+        @Param("now") LocalDateTime now,
+        Limit limit
+    );
 }
@@ -3,21 +3,26 @@ package gift.option;
 import gift.product.Product;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "options")
+@NamedEntityGraph(name = "Option.withProduct", attributeNodes = @NamedAttributeNode("product"))
 public class Option {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
@@ -27,6 +32,10 @@ public class Option {
     @Column(nullable = false)
     private int quantity;
 
+    // optimistic lock; also the source of the ETag of read APIs
+    @Version
+    private Long version;
+
     protected Option() {
     }
 
@@ -58,4 +67,8 @@ public class Option {
     public int getQuantity() {
         return quantity;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
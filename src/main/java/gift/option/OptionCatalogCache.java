@@ -0,0 +1,76 @@
+package gift.option;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gift.common.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Read-through cache of the option list (and its ETag) of a product.
+ * - bounded by the total number of cached options
+ * - invalidated by option writes (OptionController) and product deletes after they commit
+ * - OptionResponse carries the stock quantity, which orders change without going through the catalog,
+ *   so entries also expire after a short TTL to keep stock fresh
+ * Metrics: catalog.options cache gets (hit/miss), evictions and size.
+ */
+@Component
+public class OptionCatalogCache {
+    private final Cache<Long, Entry> cache;
+
+    public OptionCatalogCache(
+        @Value("${catalog.cache.options.maximum-options:1000000}") long maximumOptions,
+        @Value("${catalog.cache.options.stock-ttl:5s}") Duration stockTtl,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumOptions)
+            .weigher((Long productId, Entry entry) -> Math.max(1, entry.options().size()))
+            .expireAfterWrite(stockTtl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.options");
+    }
+
+    public Entry get(Long productId, Supplier<List<Option>> loader) {
+        return cache.get(productId, key -> Entry.of(productId, loader.get()));
+    }
+
+    public Optional<Entry> getIfPresent(Long productId) {
+        return Optional.ofNullable(cache.getIfPresent(productId));
+    }
+
+    public void invalidate(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public record Entry(List<OptionResponse> options, String etag) {
+        static Entry of(Long productId, List<Option> options) {
+            List<OptionVersion> versions = options.stream()
+                .map(option -> new OptionVersion(option.getId(), option.getVersion()))
+                .sorted(Comparator.comparing(OptionVersion::id))
+                .toList();
+            return new Entry(options.stream().map(OptionResponse::from).toList(), etag(productId, versions));
+        }
+
+        // versions must be ordered by option id
+        public static String etag(Long productId, List<OptionVersion> versions) {
+            return ETags.hashOf(productId + ":" + versions.stream()
+                .map(version -> version.id() + "-" + version.version())
+                .collect(Collectors.joining(",")));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package gift.option;
 
+import gift.common.ETags;
 import gift.product.Product;
+import gift.product.ProductCatalogCache;
 import gift.product.ProductRepository;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,12 +15,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /*
  * Each product must have at least one option at all times.
@@ -26,22 +31,43 @@ import java.util.stream.Collectors;
 public class OptionController {
     private final OptionRepository optionRepository;
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final OptionCatalogCache optionCatalogCache;
 
-    public OptionController(OptionRepository optionRepository, ProductRepository productRepository) {
+    public OptionController(
+        OptionRepository optionRepository,
+        ProductRepository productRepository,
+        ProductCatalogCache productCatalogCache,
+        OptionCatalogCache optionCatalogCache
+    ) {
         this.optionRepository = optionRepository;
         this.productRepository = productRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.optionCatalogCache = optionCatalogCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<OptionResponse>> getOptions(@PathVariable Long productId) {
-        Product product = productRepository.findById(productId).orElse(null);
-        if (product == null) {
+    public ResponseEntity<List<OptionResponse>> getOptions(
+        @PathVariable Long productId,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        boolean productExists = productCatalogCache.get(
+            productId,
+            () -> productRepository.findById(productId).map(ProductCatalogCache.Entry::of).orElse(null)
+        ).isPresent();
+        if (!productExists) {
             return ResponseEntity.notFound().build();
         }
-        List<OptionResponse> options = optionRepository.findByProductId(productId).stream()
-            .map(OptionResponse::from)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(options);
+
+        // revalidation: orders bump option versions, so the check goes to the version columns, not the short-lived cache
+        if (ifNoneMatch != null) {
+            String etag = OptionCatalogCache.Entry.etag(productId, optionRepository.findVersionsByProductId(productId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        OptionCatalogCache.Entry entry = optionCatalogCache.get(productId, () -> optionRepository.findByProductId(productId));
+        return ResponseEntity.ok().eTag(entry.etag()).body(entry.options());
     }
 
     @PostMapping
@@ -56,11 +82,14 @@ public class OptionController {
             return ResponseEntity.notFound().build();
         }
 
-        if (optionRepository.existsByProductIdAndName(productId, request.name())) {
+        // insert-or-conflict on the (product_id, name) unique constraint
+        Option saved;
+        try {
+            saved = optionRepository.saveAndFlush(new Option(product, request.name(), request.quantity()));
+        } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("이미 존재하는 옵션명입니다.");
         }
-
-        Option saved = optionRepository.save(new Option(product, request.name(), request.quantity()));
+        optionCatalogCache.invalidate(productId);
         URI location = URI.create("/api/products/" + productId + "/options/" + saved.getId());
         return ResponseEntity.created(location)
             .body(OptionResponse.from(saved));
@@ -87,6 +116,7 @@ public class OptionController {
         }
 
         optionRepository.delete(option);
+        optionCatalogCache.invalidate(productId);
         return ResponseEntity.noContent().build();
     }
 
@@ -1,11 +1,40 @@
 package gift.option;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OptionRepository extends JpaRepository<Option, Long> {
     List<Option> findByProductId(Long productId);
 
-    boolean existsByProductIdAndName(Long productId, String name);
+    // ETag source of the option list; never loads entities
+    @Query("select new gift.option.OptionVersion(o.id, o.version) from Option o where o.product.id = :productId order by o.id")
+    List<OptionVersion> findVersionsByProductId(@Param("productId") Long productId);
+
+    // for pricing an order, which needs the product
+    @EntityGraph("Option.withProduct")
+    Optional<Option> findWithProductById(Long id);
+
+    @Query("select o from Option o join fetch o.product where o.id in :ids")
+    List<Option> findAllWithProductByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reserves stock with a single conditional update so concurrent orders cannot oversell.
+     *
+     * @param id the option id
+     * @param amount the quantity to subtract
+     * @return 1 if the stock was reserved, 0 if the option is missing or has too little stock
+     */
+    @Transactional
+    @Modifying
+    @Query("update Option o set o.quantity = o.quantity - :amount, o.version = o.version + 1 "
+        + "where o.id = :id and o.quantity >= :amount")
+    int decreaseQuantity(@Param("id") Long id, @Param("amount") int amount);
 }
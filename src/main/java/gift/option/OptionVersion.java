@@ -0,0 +1,4 @@
+package gift.option;
+
+public record OptionVersion(Long id, Long version) {
+}
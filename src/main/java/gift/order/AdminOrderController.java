@@ -0,0 +1,40 @@
+package gift.order;
+
+import gift.common.ExportFormat;
+import gift.common.ExportWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/*
+ * Order exports for analytics.
+ * GET /admin/orders/export?format=CSV|NDJSON&from=2025-01-01T00:00:00&to=2025-02-01T00:00:00 ([from, to), both optional)
+ */
+@Controller
+@RequestMapping("/admin/orders")
+public class AdminOrderController {
+    private final OrderExportRepository orderExportRepository;
+
+    public AdminOrderController(OrderExportRepository orderExportRepository) {
+        this.orderExportRepository = orderExportRepository;
+    }
+
+    @GetMapping("/export")
+    public void export(
+        @RequestParam(defaultValue = "CSV") ExportFormat format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.filename("orders") + "\"");
+        orderExportRepository.export(from, to, new ExportWriter(format, response.getOutputStream(), OrderExportRepository.COLUMNS));
+    }
+}
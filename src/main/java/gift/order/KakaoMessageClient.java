@@ -1,51 +1,154 @@
 package gift.order;
 
+import gift.kakao.KakaoApiProperties;
+import gift.kakao.KakaoEndpoint;
+import gift.kakao.KakaoHttpClients;
+import gift.kakao.KakaoJsonWriter;
+import gift.kakao.KakaoMessageTemplate;
+import gift.kakao.KakaoMessageTemplates;
 import gift.product.Product;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.web.client.RestClient;
+
+import java.util.List;
 
 @Component
 public class KakaoMessageClient {
-    private final RestClient restClient;
+    // Kakao truncates text templates at 200 characters, so a combined message lists only the first few orders
+    private static final int MAX_LISTED_ORDERS = 3;
+    // object_type, link and button_title around the text; variables are assumed to take about as much as the literals
+    private static final int ENVELOPE_LENGTH = 96;
+
+    // template variables by index; a line uses the first three of the order's
+    private static final List<String> ORDER_VARIABLES = List.of("productName", "optionName", "quantity", "totalPrice", "message");
+    private static final int PRODUCT_NAME = 0;
+    private static final int OPTION_NAME = 1;
+    private static final int QUANTITY = 2;
+    private static final int TOTAL_PRICE = 3;
+    private static final int MESSAGE = 4;
+    private static final List<String> ORDERS_VARIABLES = List.of("count", "lines", "totalPrice");
+    private static final int COUNT = 0;
+    private static final int LINES = 1;
+    private static final int ORDERS_TOTAL_PRICE = 2;
+
+    private final KakaoApiProperties apiProperties;
+    private final KakaoEndpoint messageEndpoint;
+    private final KakaoMessageTemplates templates;
+    private final KakaoMessageTemplate orderText;
+    private final KakaoMessageTemplate orderButtonTitle;
+    private final KakaoMessageTemplate ordersText;
+    private final KakaoMessageTemplate orderLine;
+    private final KakaoMessageTemplate ordersMore;
+    private final KakaoMessageTemplate ordersButtonTitle;
 
-    public KakaoMessageClient(RestClient.Builder builder) {
-        this.restClient = builder.build();
+    public KakaoMessageClient(
+        KakaoApiProperties apiProperties,
+        KakaoHttpClients httpClients,
+        KakaoMessageTemplates templates
+    ) {
+        this.apiProperties = apiProperties;
+        this.messageEndpoint = httpClients.message();
+        this.templates = templates;
+        this.orderText = templates.compile("order.text", ORDER_VARIABLES);
+        this.orderButtonTitle = templates.compile("order.button-title", List.of());
+        this.ordersText = templates.compile("orders.text", ORDERS_VARIABLES);
+        this.orderLine = templates.compile("orders.line", ORDER_VARIABLES.subList(0, 3));
+        this.ordersMore = templates.compile("orders.more", List.of("count"));
+        this.ordersButtonTitle = templates.compile("orders.button-title", List.of());
     }
 
     public void sendToMe(String accessToken, Order order, Product product) {
-        var templateObject = buildTemplate(order, product);
+        send(accessToken, buildTemplate(order, product));
+    }
 
+    // one message for several orders of the same member; orders need their option and product loaded
+    public void sendToMe(String accessToken, List<Order> orders) {
+        if (orders.size() == 1) {
+            Order order = orders.get(0);
+            sendToMe(accessToken, order, order.getOption().getProduct());
+            return;
+        }
+        send(accessToken, buildTemplate(orders));
+    }
+
+    private void send(String accessToken, String templateObject) {
         var params = new LinkedMultiValueMap<String, String>();
         params.add("template_object", templateObject);
 
-        restClient.post()
-            .uri("https://kapi.kakao.com/v2/api/talk/memo/default/send")
+        messageEndpoint.call(restClient -> restClient.post()
+            .uri(apiProperties.apiBaseUrl() + "/v2/api/talk/memo/default/send")
             .header("Authorization", "Bearer " + accessToken)
             .header("Content-Type", "application/x-www-form-urlencoded")
             .body(params)
             .retrieve()
-            .toBodilessEntity();
-    }
-
-    private String buildTemplate(Order order, Product product) {
-        var totalPrice = String.format("%,d", product.getPrice() * order.getQuantity());
-        var message = order.getMessage() != null && !order.getMessage().isBlank()
-            ? "\\n\\n💌 " + order.getMessage()
-            : "";
-        return """
-            {
-                "object_type": "text",
-                "text": "🎁 선물이 도착했어요!\\n\\n%s (%s)\\n수량: %d개\\n금액: %s원%s",
-                "link": {},
-                "button_title": "선물 확인하기"
+            .toBodilessEntity());
+    }
+
+    String buildTemplate(Order order, Product product) {
+        KakaoJsonWriter json = templates.newWriter(orderText.literalLength() * 2 + ENVELOPE_LENGTH);
+        json.beginObject()
+            .name("object_type").value("text")
+            .name("text").beginString();
+        orderText.render(json, (variable, out) -> {
+            switch (variable) {
+                case PRODUCT_NAME -> out.text(product.getName());
+                case OPTION_NAME -> out.text(order.getOption().getName());
+                case QUANTITY -> out.number(order.getQuantity());
+                case TOTAL_PRICE -> out.groupedNumber((long) product.getPrice() * order.getQuantity());
+                case MESSAGE -> out.text(order.getMessage());
+                default -> throw new IllegalArgumentException("Unknown variable: " + variable);
             }
-            """.formatted(
-            product.getName(),
-            order.getOption().getName(),
-            order.getQuantity(),
-            totalPrice,
-            message
-        );
+        }, variable -> variable != MESSAGE || (order.getMessage() != null && !order.getMessage().isBlank()));
+        return finish(json, orderButtonTitle);
+    }
+
+    String buildTemplate(List<Order> orders) {
+        KakaoJsonWriter json = templates.newWriter(
+            (ordersText.literalLength() + orderLine.literalLength() * MAX_LISTED_ORDERS) * 2 + ENVELOPE_LENGTH);
+        json.beginObject()
+            .name("object_type").value("text")
+            .name("text").beginString();
+        ordersText.render(json, (variable, out) -> {
+            switch (variable) {
+                case COUNT -> out.number(orders.size());
+                case LINES -> writeLines(orders, out);
+                case ORDERS_TOTAL_PRICE -> out.groupedNumber(totalPrice(orders));
+                default -> throw new IllegalArgumentException("Unknown variable: " + variable);
+            }
+        });
+        return finish(json, ordersButtonTitle);
+    }
+
+    private void writeLines(List<Order> orders, KakaoJsonWriter json) {
+        for (int i = 0; i < Math.min(orders.size(), MAX_LISTED_ORDERS); i++) {
+            Order order = orders.get(i);
+            orderLine.render(json, (variable, out) -> {
+                switch (variable) {
+                    case PRODUCT_NAME -> out.text(order.getOption().getProduct().getName());
+                    case OPTION_NAME -> out.text(order.getOption().getName());
+                    case QUANTITY -> out.number(order.getQuantity());
+                    default -> throw new IllegalArgumentException("Unknown variable: " + variable);
+                }
+            });
+        }
+        if (orders.size() > MAX_LISTED_ORDERS) {
+            ordersMore.render(json, (variable, out) -> out.number(orders.size() - MAX_LISTED_ORDERS));
+        }
+    }
+
+    private static long totalPrice(List<Order> orders) {
+        long total = 0;
+        for (Order order : orders) {
+            total += (long) order.getOption().getProduct().getPrice() * order.getQuantity();
+        }
+        return total;
+    }
+
+    private static String finish(KakaoJsonWriter json, KakaoMessageTemplate buttonTitle) {
+        json.endString()
+            .name("link").beginObject().endObject()
+            .name("button_title").beginString();
+        buttonTitle.render(json, KakaoMessageTemplate.Arguments.NONE);
+        return json.endString().endObject().toString();
     }
 }
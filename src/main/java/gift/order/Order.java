@@ -2,23 +2,32 @@ package gift.order;
 
 import gift.option.Option;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+    name = "Order.withOptionAndProduct",
+    attributeNodes = @NamedAttributeNode(value = "option", subgraph = "option"),
+    subgraphs = @NamedSubgraph(name = "option", attributeNodes = @NamedAttributeNode("product"))
+)
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "option_id")
     private Option option;
     // primitive FK
@@ -0,0 +1,20 @@
+package gift.order;
+
+import java.util.List;
+
+/**
+ * Thrown when one or more lines of a batch order cannot be placed.
+ * The whole batch is rolled back; {@link #getErrors()} reports every rejected line.
+ */
+public class OrderBatchException extends RuntimeException {
+    private final List<OrderLineError> errors;
+
+    public OrderBatchException(List<OrderLineError> errors) {
+        super("주문할 수 없는 항목이 있습니다.");
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<OrderLineError> getErrors() {
+        return errors;
+    }
+}
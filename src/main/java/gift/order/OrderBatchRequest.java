@@ -0,0 +1,12 @@
+package gift.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderBatchRequest(
+    @NotEmpty @Size(max = 100) List<@Valid OrderRequest> lines
+) {
+}
@@ -0,0 +1,55 @@
+package gift.order;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Inserts order rows with a single JDBC batch.
+ * Hibernate cannot batch inserts for IDENTITY ids, so batch orders bypass the entity manager here.
+ * Runs inside the caller's transaction.
+ */
+@Repository
+public class OrderBulkRepository {
+    private static final String INSERT_ORDER = """
+        insert into orders (option_id, member_id, quantity, message, order_date_time)
+        values (:optionId, :memberId, :quantity, :message, :orderDateTime)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<OrderResponse> insertAll(Long memberId, List<OrderRequest> lines, LocalDateTime orderDateTime) {
+        SqlParameterSource[] batchArgs = lines.stream()
+            .map(line -> new MapSqlParameterSource()
+                .addValue("optionId", line.optionId())
+                .addValue("memberId", memberId)
+                .addValue("quantity", line.quantity())
+                .addValue("message", line.message())
+                .addValue("orderDateTime", orderDateTime))
+            .toArray(SqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_ORDER, batchArgs, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<OrderResponse> saved = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            OrderRequest line = lines.get(i);
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            saved.add(new OrderResponse(id, line.optionId(), line.quantity(), orderDateTime, line.message()));
+        }
+        return saved;
+    }
+}
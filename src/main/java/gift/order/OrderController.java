@@ -1,47 +1,44 @@
 package gift.order;
 
 import gift.auth.AuthenticationResolver;
-import gift.member.Member;
-import gift.member.MemberRepository;
-import gift.option.Option;
-import gift.option.OptionRepository;
-import gift.wish.WishRepository;
+import gift.common.CursorSlice;
+import gift.common.Cursors;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     private final OrderRepository orderRepository;
-    private final OptionRepository optionRepository;
-    private final WishRepository wishRepository;
-    private final MemberRepository memberRepository;
+    private final OrderService orderService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
     private final AuthenticationResolver authenticationResolver;
-    private final KakaoMessageClient kakaoMessageClient;
 
     public OrderController(
         OrderRepository orderRepository,
-        OptionRepository optionRepository,
-        WishRepository wishRepository,
-        MemberRepository memberRepository,
-        AuthenticationResolver authenticationResolver,
-        KakaoMessageClient kakaoMessageClient
+        OrderService orderService,
+        OrderIdempotencyStore orderIdempotencyStore,
+        AuthenticationResolver authenticationResolver
     ) {
         this.orderRepository = orderRepository;
-        this.optionRepository = optionRepository;
-        this.wishRepository = wishRepository;
-        this.memberRepository = memberRepository;
+        this.orderService = orderService;
+        this.orderIdempotencyStore = orderIdempotencyStore;
         this.authenticationResolver = authenticationResolver;
-        this.kakaoMessageClient = kakaoMessageClient;
     }
 
     @GetMapping
@@ -54,21 +51,39 @@ public class OrderController {
         if (member == null) {
             return ResponseEntity.status(401).build();
         }
-        var orders = orderRepository.findByMemberId(member.getId(), pageable).map(OrderResponse::from);
+        var orders = orderRepository.findResponsesByMemberId(member.id(), pageable);
         return ResponseEntity.ok(orders);
     }
 
+    // cursor mode: newest first, selected by the presence of the cursor parameter (empty for the first slice)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> getOrders(
+        @RequestHeader("Authorization") String authorization,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        // auth check
+        var member = authenticationResolver.extractMember(authorization);
+        if (member == null) {
+            return ResponseEntity.status(401).build();
+        }
+        Cursors.validateSize(size);
+        var position = Cursors.decodeTime(cursor);
+        var orders = position == null
+            ? orderRepository.findLatestResponsesByMemberId(member.id(), Limit.of(size + 1))
+            : orderRepository.findResponsesByMemberIdBefore(member.id(), position.dateTime(), position.id(), Limit.of(size + 1));
+        return ResponseEntity.ok(CursorSlice.of(orders, size, order -> Cursors.encodeTime(order.orderDateTime(), order.id())));
+    }
+
     // order flow:
     // 1. auth check
-    // 2. validate option
-    // 3. subtract stock
-    // 4. deduct points
-    // 5. save order
-    // 6. cleanup wish
-    // 7. send kakao notification
+    // 2. replay the original response if the Idempotency-Key was already used
+    // 3. validate option, subtract stock, deduct points, save order (one transaction, see OrderService)
+    // 4. enqueue kakao notification in the same transaction (sent by OrderNotificationDispatcher)
     @PostMapping
     public ResponseEntity<?> createOrder(
         @RequestHeader("Authorization") String authorization,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
         @Valid @RequestBody OrderRequest request
     ) {
         // auth check
@@ -77,38 +92,63 @@ public class OrderController {
             return ResponseEntity.status(401).build();
         }
 
-        // validate option
-        var option = optionRepository.findById(request.optionId()).orElse(null);
-        if (option == null) {
-            return ResponseEntity.notFound().build();
+        if (idempotencyKey == null) {
+            return created(OrderResponse.from(orderService.createOrder(member.id(), request)));
+        }
+
+        // replay check
+        OrderIdempotencyStore.validateKey(idempotencyKey);
+        var previous = orderIdempotencyStore.find(member.id(), idempotencyKey);
+        if (previous.isPresent()) {
+            return created(previous.get());
+        }
+
+        OrderResponse response;
+        try {
+            response = OrderResponse.from(orderService.createOrder(member.id(), request, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request with the same key won the unique index
+            return orderIdempotencyStore.find(member.id(), idempotencyKey)
+                .<ResponseEntity<?>>map(this::created)
+                .orElseGet(() -> ResponseEntity.status(409).body("같은 Idempotency-Key의 주문이 처리 중입니다."));
+        }
+        orderIdempotencyStore.remember(member.id(), idempotencyKey, response);
+        return created(response);
+    }
+
+    // places every line of the batch or none of them
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrders(
+        @RequestHeader("Authorization") String authorization,
+        @Valid @RequestBody OrderBatchRequest request
+    ) {
+        // auth check
+        var member = authenticationResolver.extractMember(authorization);
+        if (member == null) {
+            return ResponseEntity.status(401).build();
         }
 
-        // subtract stock
-        option.subtractQuantity(request.quantity());
-        optionRepository.save(option);
+        var saved = orderService.createOrders(member.id(), request.lines());
+        return ResponseEntity.status(201).body(saved);
+    }
 
-        // deduct points
-        var price = option.getProduct().getPrice() * request.quantity();
-        member.deductPoint(price);
-        memberRepository.save(member);
+    private ResponseEntity<?> created(OrderResponse response) {
+        return ResponseEntity.created(URI.create("/api/orders/" + response.id()))
+            .body(response);
+    }
 
-        // save order
-        var saved = orderRepository.save(new Order(option, member.getId(), request.quantity(), request.message()));
+    @ExceptionHandler(OrderBatchException.class)
+    public ResponseEntity<List<OrderLineError>> handleOrderBatch(OrderBatchException e) {
+        return ResponseEntity.badRequest().body(e.getErrors());
+    }
 
-        // best-effort kakao notification
-        sendKakaoMessageIfPossible(member, saved, option);
-        return ResponseEntity.created(URI.create("/api/orders/" + saved.getId()))
-            .body(OrderResponse.from(saved));
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNoSuchElement(NoSuchElementException e) {
+        return ResponseEntity.status(404).body(e.getMessage());
     }
 
-    private void sendKakaoMessageIfPossible(Member member, Order order, Option option) {
-        if (member.getKakaoAccessToken() == null) {
-            return;
-        }
-        try {
-            var product = option.getProduct();
-            kakaoMessageClient.sendToMe(member.getKakaoAccessToken(), order, product);
-        } catch (Exception ignored) {
-        }
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 }
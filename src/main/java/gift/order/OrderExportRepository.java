@@ -0,0 +1,55 @@
+package gift.order;
+
+import gift.common.ExportWriter;
+import gift.common.ForwardOnlyStatement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Streams orders for analytics, optionally within [from, to) on order_date_time (idx_orders_order_date_time).
+ */
+@Repository
+public class OrderExportRepository {
+    public static final List<String> COLUMNS = List.of("id", "optionId", "memberId", "quantity", "message", "orderDateTime");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public OrderExportRepository(JdbcTemplate jdbcTemplate, @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public void export(LocalDateTime from, LocalDateTime to, ExportWriter writer) {
+        StringBuilder sql = new StringBuilder(
+            "select id, option_id, member_id, quantity, message, order_date_time from orders where 1 = 1");
+        List<Object> parameters = new ArrayList<>(2);
+        if (from != null) {
+            sql.append(" and order_date_time >= ?");
+            parameters.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and order_date_time < ?");
+            parameters.add(Timestamp.valueOf(to));
+        }
+        sql.append(" order by order_date_time, id");
+
+        jdbcTemplate.query(new ForwardOnlyStatement(sql.toString(), fetchSize, parameters.toArray()), resultSet -> {
+            writer.writeRow(
+                resultSet.getLong("id"),
+                resultSet.getLong("option_id"),
+                resultSet.getLong("member_id"),
+                resultSet.getInt("quantity"),
+                resultSet.getString("message"),
+                resultSet.getTimestamp("order_date_time").toLocalDateTime()
+            );
+        });
+        writer.flush();
+    }
+}
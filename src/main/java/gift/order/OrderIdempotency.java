@@ -0,0 +1,57 @@
+package gift.order;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import java.time.LocalDateTime;
+
+/*
+ * Records which order an Idempotency-Key produced.
+ * (member_id, idempotency_key) is unique, so of several concurrent requests with the same key only one can commit.
+ */
+@Entity
+public class OrderIdempotency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // primitive FKs
+    private Long memberId;
+    private String idempotencyKey;
+    private Long orderId;
+    private LocalDateTime createdAt;
+
+    protected OrderIdempotency() {
+    }
+
+    public OrderIdempotency(Long memberId, String idempotencyKey) {
+        this.memberId = memberId;
+        this.idempotencyKey = idempotencyKey;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void assignOrder(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
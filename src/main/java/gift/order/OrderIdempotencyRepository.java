@@ -0,0 +1,19 @@
+package gift.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderIdempotencyRepository extends JpaRepository<OrderIdempotency, Long> {
+    Optional<OrderIdempotency> findByMemberIdAndIdempotencyKey(Long memberId, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OrderIdempotency i where i.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,77 @@
+package gift.order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/*
+ * Two-tier dedup store for the Idempotency-Key header of order creation.
+ * - memory: bounded LRU with a TTL holding the OrderResponse of recent keys, so most retries never reach the database
+ * - database: order_idempotency row written in the order transaction; its unique index settles concurrent duplicates
+ * Rows older than the retention are purged periodically, so both tiers stay bounded regardless of daily key volume.
+ */
+@Component
+public class OrderIdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderIdempotencyRepository orderIdempotencyRepository;
+    private final OrderRepository orderRepository;
+    private final Cache<String, OrderResponse> recent;
+    private final Duration retention;
+
+    public OrderIdempotencyStore(
+        OrderIdempotencyRepository orderIdempotencyRepository,
+        OrderRepository orderRepository,
+        @Value("${order.idempotency.max-cached-keys:100000}") long maxCachedKeys,
+        @Value("${order.idempotency.retention:24h}") Duration retention
+    ) {
+        this.orderIdempotencyRepository = orderIdempotencyRepository;
+        this.orderRepository = orderRepository;
+        this.retention = retention;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(maxCachedKeys)
+            .expireAfterWrite(retention)
+            .build();
+    }
+
+    public static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 1자 이상 100자 이하여야 합니다.");
+        }
+    }
+
+    // returns the response of the order previously placed with this key, without touching stock or points
+    public Optional<OrderResponse> find(Long memberId, String idempotencyKey) {
+        String cacheKey = cacheKey(memberId, idempotencyKey);
+        OrderResponse cached = recent.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<OrderResponse> stored = orderIdempotencyRepository.findByMemberIdAndIdempotencyKey(memberId, idempotencyKey)
+            .map(OrderIdempotency::getOrderId)
+            .flatMap(orderRepository::findById)
+            .map(OrderResponse::from);
+        stored.ifPresent(response -> recent.put(cacheKey, response));
+        return stored;
+    }
+
+    public void remember(Long memberId, String idempotencyKey, OrderResponse response) {
+        recent.put(cacheKey(memberId, idempotencyKey), response);
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        orderIdempotencyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private static String cacheKey(Long memberId, String idempotencyKey) {
+        return memberId + ":" + idempotencyKey;
+    }
+}
@@ -0,0 +1,11 @@
+package gift.order;
+
+/**
+ * Describes why a single line of a batch order was rejected.
+ *
+ * @param index the zero-based position of the line in the request
+ * @param optionId the option id of the line
+ * @param message the reason the line was rejected
+ */
+public record OrderLineError(int index, Long optionId, String message) {
+}
@@ -0,0 +1,122 @@
+package gift.order;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * Outbox row for the Kakao "send to me" notification of an order.
+ * It is written in the same transaction as the order and drained by OrderNotificationDispatcher.
+ * PENDING -> SENT on success, PENDING -> PENDING (with backoff) on failure, PENDING -> DEAD once retries run out.
+ * A rate-limited notification is deferred without counting an attempt.
+ * Before sending, a dispatcher claims the row (claimToken, with next_attempt_at moved to the end of a lease),
+ * so with several instances each notification is sent by one of them.
+ */
+@Entity
+public class OrderNotification {
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // primitive FKs
+    private Long orderId;
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private String claimToken;
+
+    protected OrderNotification() {
+    }
+
+    public OrderNotification(Long orderId, Long memberId) {
+        this.orderId = orderId;
+        this.memberId = memberId;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public void markSent() {
+        this.attempts++;
+        this.status = Status.SENT;
+        this.lastError = null;
+    }
+
+    public void markDead(String error) {
+        this.status = Status.DEAD;
+        this.lastError = truncate(error);
+    }
+
+    // exponential backoff: backoff, 2 * backoff, 4 * backoff, ... until maxAttempts is reached
+    public void markFailed(String error, int maxAttempts, Duration backoff) {
+        this.attempts++;
+        if (this.attempts >= maxAttempts) {
+            markDead(error);
+            return;
+        }
+        this.lastError = truncate(error);
+        this.nextAttemptAt = LocalDateTime.now().plus(backoff.multipliedBy(1L << (this.attempts - 1)));
+    }
+
+    public void defer(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public enum Status {
+        PENDING,
+        SENT,
+        DEAD
+    }
+}
@@ -0,0 +1,252 @@
+package gift.order;
+
+import gift.auth.KakaoTokenManager;
+import gift.kakao.KakaoRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Drains the order_notification outbox off the request thread.
+ * - a notification waits at least coalesce-window, then goes out together with every other due
+ *   notification of the same member as one Kakao message
+ * - each message takes a permit from KakaoRateLimiter (per access token and global);
+ *   without one the notifications are deferred until the bucket refills, which does not count as an attempt
+ * - messages are sent by a small worker pool over a bounded queue; the poller only claims as many rows as
+ *   the queue has room for, so under load the backlog stays in the outbox instead of in memory
+ * - rows are claimed with a lease (OrderNotificationRepository.claim) before they are queued, so with several
+ *   instances each row is sent by one of them; rows left by an instance that died are picked up after the lease
+ * - rows that are queued or being sent are also remembered, so a lease running out in the queue does not send twice
+ * - access tokens come from KakaoTokenManager; a member whose token is dead is not sent to at all,
+ *   and a token Kakao rejects is refreshed before the retry
+ * Metrics: order.notification.queue.depth (messages waiting for a worker), order.notification.in-flight
+ * (notifications queued or being sent), order.notification.sent, order.notification.coalesced,
+ * order.notification.dropped (given up on), order.notification.deferred (by reason).
+ */
+@Component
+public class OrderNotificationDispatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(OrderNotificationDispatcher.class);
+
+    private final OrderNotificationRepository orderNotificationRepository;
+    private final OrderRepository orderRepository;
+    private final KakaoTokenManager kakaoTokenManager;
+    private final KakaoMessageClient kakaoMessageClient;
+    private final KakaoRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration coalesceWindow;
+    private final Duration lease;
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    public OrderNotificationDispatcher(
+        OrderNotificationRepository orderNotificationRepository,
+        OrderRepository orderRepository,
+        KakaoTokenManager kakaoTokenManager,
+        KakaoMessageClient kakaoMessageClient,
+        KakaoRateLimiter rateLimiter,
+        MeterRegistry meterRegistry,
+        @Value("${order.notification.batch-size:100}") int batchSize,
+        @Value("${order.notification.max-attempts:5}") int maxAttempts,
+        @Value("${order.notification.backoff:1s}") Duration backoff,
+        @Value("${order.notification.coalesce-window:2s}") Duration coalesceWindow,
+        @Value("${order.notification.workers:8}") int workerCount,
+        @Value("${order.notification.queue-capacity:1000}") int queueCapacity,
+        @Value("${order.notification.lease:10m}") Duration lease
+    ) {
+        this.orderNotificationRepository = orderNotificationRepository;
+        this.orderRepository = orderRepository;
+        this.kakaoTokenManager = kakaoTokenManager;
+        this.kakaoMessageClient = kakaoMessageClient;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.coalesceWindow = coalesceWindow;
+        this.lease = lease;
+        this.workers = new ThreadPoolExecutor(
+            workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofVirtual().name("order-notification-", 0).factory()
+        );
+        this.sent = meterRegistry.counter("order.notification.sent");
+        this.coalesced = meterRegistry.counter("order.notification.coalesced");
+        this.dropped = meterRegistry.counter("order.notification.dropped");
+        Gauge.builder("order.notification.queue.depth", workers, executor -> executor.getQueue().size())
+            .register(meterRegistry);
+        Gauge.builder("order.notification.in-flight", inFlight, Set::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.notification.poll-interval:1000}")
+    public void dispatch() {
+        // taken before querying: a row that finishes after this point was saved before the query ran or is skipped
+        Set<Long> busy = Set.copyOf(inFlight);
+        int room = queueCapacity - busy.size();
+        if (room <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> candidates = new LinkedHashSet<>();
+        Set<Long> memberIds = new HashSet<>();
+        for (OrderNotification notification : orderNotificationRepository.findByStatusAndNextAttemptAtLessThanEqual(
+            OrderNotification.Status.PENDING,
+            now.minus(coalesceWindow),
+            PageRequest.of(0, Math.min(batchSize, room), Sort.by("nextAttemptAt"))
+        )) {
+            if (!busy.contains(notification.getId())) {
+                candidates.add(notification.getId());
+                memberIds.add(notification.getMemberId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        // join the members' notifications that are still inside their window
+        orderNotificationRepository.findByMemberIdInAndStatusAndNextAttemptAtLessThanEqual(
+            memberIds, OrderNotification.Status.PENDING, now
+        ).forEach(notification -> {
+            if (!busy.contains(notification.getId())) {
+                candidates.add(notification.getId());
+            }
+        });
+
+        // other instances poll the same rows; only the ones this instance claims are sent from here
+        String claimToken = UUID.randomUUID().toString();
+        if (orderNotificationRepository.claim(candidates, OrderNotification.Status.PENDING, now, now.plus(lease), claimToken) == 0) {
+            return;
+        }
+        Map<Long, List<OrderNotification>> byMember = new LinkedHashMap<>();
+        for (OrderNotification notification : orderNotificationRepository.findByClaimToken(claimToken)) {
+            byMember.computeIfAbsent(notification.getMemberId(), key -> new ArrayList<>()).add(notification);
+        }
+
+        for (List<OrderNotification> group : byMember.values()) {
+            List<Long> ids = group.stream().map(OrderNotification::getId).toList();
+            inFlight.addAll(ids);
+            try {
+                workers.execute(() -> {
+                    try {
+                        deliver(group);
+                    } finally {
+                        ids.forEach(inFlight::remove);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // hand the rows back to the outbox for a later poll instead of waiting out the lease
+                ids.forEach(inFlight::remove);
+                group.forEach(notification -> notification.defer(now));
+                orderNotificationRepository.saveAll(group);
+                deferred("queue_full", group.size());
+            }
+        }
+    }
+
+    private void deliver(List<OrderNotification> group) {
+        Long memberId = group.get(0).getMemberId();
+        try {
+            String accessToken = kakaoTokenManager.accessToken(memberId).orElse(null);
+            Map<Long, Order> orders = new LinkedHashMap<>();
+            orderRepository.findWithOptionAndProductByIdIn(group.stream().map(OrderNotification::getOrderId).toList())
+                .forEach(order -> orders.put(order.getId(), order));
+
+            List<OrderNotification> deliverable = new ArrayList<>(group.size());
+            for (OrderNotification notification : group) {
+                if (accessToken == null || !orders.containsKey(notification.getOrderId())) {
+                    notification.markDead("Kakao access token or order is no longer available.");
+                    dropped.increment();
+                } else {
+                    deliverable.add(notification);
+                }
+            }
+            if (!deliverable.isEmpty()) {
+                send(memberId, accessToken, deliverable, orders);
+            }
+        } catch (Exception e) {
+            // e.g. the token needed a refresh and Kakao was unavailable
+            log.warn("Failed to prepare Kakao notifications. memberId={}", memberId, e);
+            fail(group, e);
+        }
+        orderNotificationRepository.saveAll(group);
+    }
+
+    private void send(Long memberId, String accessToken, List<OrderNotification> notifications, Map<Long, Order> orders) {
+        KakaoRateLimiter.Permit permit = rateLimiter.tryAcquire(accessToken);
+        if (!permit.granted()) {
+            LocalDateTime retryAt = LocalDateTime.now().plus(permit.retryAfter());
+            notifications.forEach(notification -> notification.defer(retryAt));
+            deferred(permit.limitedBy() + "_rate", notifications.size());
+            return;
+        }
+        try {
+            kakaoMessageClient.sendToMe(
+                accessToken,
+                notifications.stream().map(notification -> orders.get(notification.getOrderId())).toList()
+            );
+            notifications.forEach(OrderNotification::markSent);
+            sent.increment(notifications.size());
+            coalesced.increment(notifications.size() - 1);
+        } catch (Exception e) {
+            log.warn("Failed to send Kakao notification. ids={}, attempts={}",
+                notifications.stream().map(OrderNotification::getId).toList(),
+                notifications.get(0).getAttempts() + 1, e);
+            if (e instanceof HttpClientErrorException.Unauthorized) {
+                kakaoTokenManager.expire(memberId, accessToken);
+            }
+            fail(notifications, e);
+        }
+    }
+
+    private void fail(List<OrderNotification> notifications, Exception e) {
+        for (OrderNotification notification : notifications) {
+            if (notification.getStatus() != OrderNotification.Status.PENDING) {
+                continue;
+            }
+            notification.markFailed(e.getMessage(), maxAttempts, backoff);
+            if (notification.getStatus() == OrderNotification.Status.DEAD) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void deferred(String reason, int count) {
+        meterRegistry.counter("order.notification.deferred", "reason", reason).increment(count);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
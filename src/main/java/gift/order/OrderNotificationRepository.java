@@ -0,0 +1,48 @@
+package gift.order;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderNotificationRepository extends JpaRepository<OrderNotification, Long> {
+    List<OrderNotification> findByStatusAndNextAttemptAtLessThanEqual(
+        OrderNotification.Status status,
+        LocalDateTime now,
+        Pageable pageable
+    );
+
+    // the other pending notifications of the members in a batch, to coalesce into one message each
+    List<OrderNotification> findByMemberIdInAndStatusAndNextAttemptAtLessThanEqual(
+        Collection<Long> memberIds,
+        OrderNotification.Status status,
+        LocalDateTime now
+    );
+
+    /**
+     * Claims due notifications for one poll: stamps the claim token and pushes next_attempt_at to the end of the lease.
+     * Each row is claimed by at most one instance, because the update re-checks the row after waiting for its lock.
+     * Rows of an instance that dies mid-send become due again when the lease runs out.
+     *
+     * @return the number of rows claimed; load them with {@link #findByClaimToken}
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderNotification n set n.claimToken = :claimToken, n.nextAttemptAt = :leaseUntil "
+        + "where n.id in :ids and n.status = :status and n.nextAttemptAt <= :now")
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") OrderNotification.Status status,
+        @Param("now") LocalDateTime now,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("claimToken") String claimToken
+    );
+
+    List<OrderNotification> findByClaimToken(String claimToken);
+}
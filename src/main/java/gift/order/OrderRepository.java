@@ -1,9 +1,47 @@
 package gift.order;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Page<Order> findByMemberId(Long memberId, Pageable pageable);
+    // one select per page (plus the count), options are never loaded
+    @Query(
+        value = "select new gift.order.OrderResponse(o.id, o.option.id, o.quantity, o.orderDateTime, o.message) "
+            + "from Order o where o.memberId = :memberId",
+        countQuery = "select count(o) from Order o where o.memberId = :memberId"
+    )
+    Page<OrderResponse> findResponsesByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    // keyset pagination, newest first: seeks the (member_id, order_date_time) index, no count query
+    @Query("select new gift.order.OrderResponse(o.id, o.option.id, o.quantity, o.orderDateTime, o.message) "
+        + "from Order o where o.memberId = :memberId order by o.orderDateTime desc, o.id desc")
+    List<OrderResponse> findLatestResponsesByMemberId(@Param("memberId") Long memberId, Limit limit);
+
+    @Query("select new gift.order.OrderResponse(o.id, o.option.id, o.quantity, o.orderDateTime, o.message) "
+        + "from Order o where o.memberId = :memberId "
+        + "and (o.orderDateTime < :dateTime or (o.orderDateTime = :dateTime and o.id < :id)) "
+        + "order by o.orderDateTime desc, o.id desc")
+    List<OrderResponse> findResponsesByMemberIdBefore(
+        @Param("memberId") Long memberId,
+        @Param("dateTime") LocalDateTime dateTime,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    // for the Kakao message, which needs the option and product names
+    @EntityGraph("Order.withOptionAndProduct")
+    Optional<Order> findWithOptionAndProductById(Long id);
+
+    @EntityGraph("Order.withOptionAndProduct")
+    List<Order> findWithOptionAndProductByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,179 @@
+package gift.order;
+
+import gift.auth.KakaoTokenManager;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Places an order in one short transaction.
+ * Rows are always locked in the same order (option, then member) so concurrent orders cannot deadlock.
+ * A failure at any step rolls back the stock reservation, the point deduction and the order row together.
+ * The Kakao notification is only recorded in the order_notification outbox here;
+ * OrderNotificationDispatcher sends it after commit, off the request thread.
+ */
+@Service
+public class OrderService {
+    private final OrderRepository orderRepository;
+    private final OptionRepository optionRepository;
+    private final MemberRepository memberRepository;
+    private final OrderNotificationRepository orderNotificationRepository;
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderIdempotencyRepository orderIdempotencyRepository;
+    private final KakaoTokenManager kakaoTokenManager;
+
+    public OrderService(
+        OrderRepository orderRepository,
+        OptionRepository optionRepository,
+        MemberRepository memberRepository,
+        OrderNotificationRepository orderNotificationRepository,
+        OrderBulkRepository orderBulkRepository,
+        OrderIdempotencyRepository orderIdempotencyRepository,
+        KakaoTokenManager kakaoTokenManager
+    ) {
+        this.orderRepository = orderRepository;
+        this.optionRepository = optionRepository;
+        this.memberRepository = memberRepository;
+        this.orderNotificationRepository = orderNotificationRepository;
+        this.orderBulkRepository = orderBulkRepository;
+        this.orderIdempotencyRepository = orderIdempotencyRepository;
+        this.kakaoTokenManager = kakaoTokenManager;
+    }
+
+    @Transactional
+    public Order createOrder(Long memberId, OrderRequest request) {
+        return createOrder(memberId, request, null);
+    }
+
+    /*
+     * With an idempotency key, the order_idempotency row is inserted first.
+     * A concurrent request with the same key blocks on (or fails at) the unique index before reserving any stock,
+     * and surfaces as a DataIntegrityViolationException once the first request commits.
+     */
+    @Transactional
+    public Order createOrder(Long memberId, OrderRequest request, String idempotencyKey) {
+        // claim idempotency key
+        OrderIdempotency idempotency = null;
+        if (idempotencyKey != null) {
+            idempotency = orderIdempotencyRepository.saveAndFlush(new OrderIdempotency(memberId, idempotencyKey));
+        }
+
+        // validate option
+        Option option = optionRepository.findWithProductById(request.optionId())
+            .orElseThrow(() -> new NoSuchElementException("옵션이 존재하지 않습니다. id=" + request.optionId()));
+
+        // subtract stock (locks the option row)
+        if (optionRepository.decreaseQuantity(option.getId(), request.quantity()) == 0) {
+            throw new IllegalArgumentException("차감할 수량이 현재 재고보다 많습니다.");
+        }
+
+        // deduct points (locks the member row)
+        int price = Math.multiplyExact(option.getProduct().getPrice(), request.quantity());
+        requirePositive(price);
+        if (memberRepository.deductPoint(memberId, price) == 0) {
+            throw new IllegalArgumentException("포인트가 부족합니다.");
+        }
+
+        // save order
+        Order saved = orderRepository.save(new Order(option, memberId, request.quantity(), request.message()));
+        if (idempotency != null) {
+            idempotency.assignOrder(saved.getId());
+        }
+
+        // enqueue kakao notification (outbox, same transaction)
+        enqueueNotificationIfPossible(memberId, saved);
+        return saved;
+    }
+
+    // batch order flow (all-or-nothing):
+    // 1. load every option with one IN query
+    // 2. subtract stock once per option, in option id order (same lock order as createOrder)
+    // 3. deduct the summed price from the member once
+    // 4. insert all order rows with one JDBC batch
+    @Transactional
+    public List<OrderResponse> createOrders(Long memberId, List<OrderRequest> lines) {
+        List<OrderLineError> errors = new ArrayList<>();
+
+        // validate options
+        Map<Long, Option> options = optionRepository.findAllWithProductByIdIn(
+                lines.stream().map(OrderRequest::optionId).collect(Collectors.toSet())
+            ).stream()
+            .collect(Collectors.toMap(Option::getId, Function.identity()));
+        for (int i = 0; i < lines.size(); i++) {
+            OrderRequest line = lines.get(i);
+            if (!options.containsKey(line.optionId())) {
+                errors.add(new OrderLineError(i, line.optionId(), "옵션이 존재하지 않습니다."));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new OrderBatchException(errors);
+        }
+
+        // subtract stock (sorted by option id to keep a stable lock order)
+        Map<Long, Integer> quantities = lines.stream()
+            .collect(Collectors.toMap(OrderRequest::optionId, OrderRequest::quantity, Math::addExact, TreeMap::new));
+        quantities.forEach((optionId, quantity) -> {
+            if (optionRepository.decreaseQuantity(optionId, quantity) == 0) {
+                for (int i = 0; i < lines.size(); i++) {
+                    if (lines.get(i).optionId().equals(optionId)) {
+                        errors.add(new OrderLineError(i, optionId, "차감할 수량이 현재 재고보다 많습니다."));
+                    }
+                }
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw new OrderBatchException(errors);
+        }
+
+        // deduct points once for the whole batch
+        int totalPrice = 0;
+        for (OrderRequest line : lines) {
+            int price = options.get(line.optionId()).getProduct().getPrice();
+            totalPrice = Math.addExact(totalPrice, Math.multiplyExact(price, line.quantity()));
+        }
+        requirePositive(totalPrice);
+        if (memberRepository.deductPoint(memberId, totalPrice) == 0) {
+            throw new IllegalArgumentException("포인트가 부족합니다.");
+        }
+
+        // save orders
+        List<OrderResponse> saved = orderBulkRepository.insertAll(memberId, lines, LocalDateTime.now());
+
+        // enqueue kakao notifications (outbox, same transaction)
+        if (hasKakaoToken(memberId)) {
+            orderNotificationRepository.saveAll(saved.stream()
+                .map(order -> new OrderNotification(order.id(), memberId))
+                .toList());
+        }
+        return saved;
+    }
+
+    // deductPoint's conditional update would credit a negative amount instead of rejecting it
+    private static void requirePositive(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("차감 금액은 1 이상이어야 합니다.");
+        }
+    }
+
+    private void enqueueNotificationIfPossible(Long memberId, Order order) {
+        if (hasKakaoToken(memberId)) {
+            orderNotificationRepository.save(new OrderNotification(order.getId(), memberId));
+        }
+    }
+
+    // members whose Kakao token is dead get no notification rows at all
+    private boolean hasKakaoToken(Long memberId) {
+        return kakaoTokenManager.hasToken(memberId);
+    }
+}
@@ -2,31 +2,72 @@ package gift.product;
 
 import gift.category.Category;
 import gift.category.CategoryRepository;
+import gift.common.AdminListQuery;
+import gift.option.OptionCatalogCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletFileUpload;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 @Controller
 @RequestMapping("/admin/products")
 public class AdminProductController {
+    private static final Set<String> SORTABLE = Set.of("id", "name");
+    // name of the file input in product/list.html
+    private static final String IMPORT_FILE_PART = "file";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-
-    public AdminProductController(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    private final ProductCatalogCache productCatalogCache;
+    private final OptionCatalogCache optionCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductImporter productImporter;
+
+    public AdminProductController(
+        ProductRepository productRepository,
+        CategoryRepository categoryRepository,
+        ProductCatalogCache productCatalogCache,
+        OptionCatalogCache optionCatalogCache,
+        ProductSearchIndex productSearchIndex,
+        ProductImporter productImporter
+    ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.optionCatalogCache = optionCatalogCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productImporter = productImporter;
     }
 
     @GetMapping
-    public String list(Model model) {
-        model.addAttribute("products", productRepository.findAll());
+    public String list(AdminListQuery query, Model model) {
+        Pageable pageable = query.pageable(SORTABLE);
+        model.addAttribute("products", query.filtered()
+            ? productRepository.findByNameStartingWith(query.q(), pageable)
+            : productRepository.findAllBy(pageable));
+        model.addAttribute("query", query);
         return "product/list";
     }
 
@@ -52,7 +93,8 @@ public class AdminProductController {
 
         Category category = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new NoSuchElementException("카테고리가 존재하지 않습니다. id=" + categoryId));
-        productRepository.save(new Product(name, price, imageUrl, category));
+        Product saved = productRepository.save(new Product(name, price, imageUrl, category));
+        productSearchIndex.index(ProductResponse.from(saved));
         return "redirect:/admin/products";
     }
 
@@ -88,15 +130,64 @@ public class AdminProductController {
 
         product.update(name, price, imageUrl, category);
         productRepository.save(product);
+        productCatalogCache.invalidate(id);
+        productSearchIndex.index(ProductResponse.from(product));
         return "redirect:/admin/products";
     }
 
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id) {
         productRepository.deleteById(id);
+        productCatalogCache.invalidate(id);
+        optionCatalogCache.invalidate(id);
+        productSearchIndex.remove(id);
         return "redirect:/admin/products";
     }
 
+    // form upload, read part by part straight from the request stream instead of the container's multipart parsing:
+    // the global spring.servlet.multipart limits stay finite for every other endpoint, and the file is never spooled.
+    // spring.servlet.multipart.resolve-lazily keeps Spring from parsing the parts before this runs.
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            FileItemIterator parts = new ServletFileUpload().getItemIterator(new ServletRequestContext(request));
+            while (parts.hasNext()) {
+                FileItemStream part = parts.next();
+                if (!part.isFormField() && IMPORT_FILE_PART.equals(part.getFieldName())) {
+                    ProductImportFormat format = ProductImportFormat.fromFilename(part.getName());
+                    try (InputStream in = part.openStream()) {
+                        writeImportReport(format, in, response);
+                    }
+                    return;
+                }
+            }
+        } catch (FileUploadException e) {
+            throw new IllegalArgumentException("업로드 요청을 읽을 수 없습니다.", e);
+        }
+        throw new IllegalArgumentException("업로드할 파일(" + IMPORT_FILE_PART + ")이 없습니다.");
+    }
+
+    // raw body upload (e.g. curl --data-binary), read straight from the request stream
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importProducts(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        writeImportReport(ProductImportFormat.fromContentType(contentType), request.getInputStream(), response);
+    }
+
+    private void writeImportReport(ProductImportFormat format, InputStream in, HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"product-import-report.csv\"");
+        productImporter.importProducts(format, in, response.getWriter());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     private void populateNewForm(
         Model model,
         List<String> errors,
@@ -0,0 +1,70 @@
+package gift.product;
+
+import gift.option.OptionRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Inserts imported products and their options with two JDBC batches per chunk, in one transaction.
+ * Hibernate cannot batch inserts for IDENTITY ids, so the import bypasses the entity manager here.
+ */
+@Repository
+public class ProductBulkRepository {
+    private static final String INSERT_PRODUCT = """
+        insert into product (name, price, image_url, category_id)
+        values (:name, :price, :imageUrl, :categoryId)
+        """;
+    private static final String INSERT_OPTION = """
+        insert into options (product_id, name, quantity)
+        values (:productId, :name, :quantity)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the saved products, in the order of the rows
+     */
+    @Transactional
+    public List<ProductResponse> insertAll(List<ProductImportRow> rows) {
+        SqlParameterSource[] productArgs = rows.stream()
+            .map(row -> new MapSqlParameterSource()
+                .addValue("name", row.name())
+                .addValue("price", row.price())
+                .addValue("imageUrl", row.imageUrl())
+                .addValue("categoryId", row.categoryId()))
+            .toArray(SqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, productArgs, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<ProductResponse> saved = new ArrayList<>(rows.size());
+        List<SqlParameterSource> optionArgs = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductImportRow row = rows.get(i);
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            saved.add(new ProductResponse(id, row.name(), row.price(), row.imageUrl(), row.categoryId()));
+            for (OptionRequest option : row.options()) {
+                optionArgs.add(new MapSqlParameterSource()
+                    .addValue("productId", id)
+                    .addValue("name", option.name())
+                    .addValue("quantity", option.quantity()));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_OPTION, optionArgs.toArray(SqlParameterSource[]::new));
+        return saved;
+    }
+}
@@ -0,0 +1,94 @@
+package gift.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gift.common.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+ * Read-through cache of ProductResponse (and its ETag) by product id.
+ * - bounded by an estimated byte weight per entry
+ * - invalidated by every product write (ProductController, AdminProductController) after it commits
+ * - ProductController.getProduct checks the entry against the version column, so writes by other instances
+ *   or outside the application replace it on the next read; the TTL only bounds entries no one reads
+ * Metrics: catalog.products cache gets (hit/miss), evictions and size.
+ */
+@Component
+public class ProductCatalogCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<Long, Entry> cache;
+
+    public ProductCatalogCache(
+        @Value("${catalog.cache.products.maximum-weight:67108864}") long maximumWeight,
+        @Value("${catalog.cache.products.ttl:10m}") Duration ttl,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Long id, Entry entry) -> weigh(entry.product()))
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.products");
+    }
+
+    /**
+     * Returns the cached product, loading it on a miss.
+     *
+     * @param id the product id
+     * @param loader loads the product; may return {@code null} if it does not exist (not cached)
+     */
+    public Optional<Entry> get(Long id, Supplier<Entry> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.get()));
+    }
+
+    /**
+     * Returns the cached product if it still has the given ETag, reloading it otherwise.
+     *
+     * @param id the product id
+     * @param etag the ETag of the current version of the product
+     * @param loader loads the product; may return {@code null} if it does not exist (not cached)
+     */
+    public Optional<Entry> get(Long id, String etag, Supplier<Entry> loader) {
+        Entry cached = cache.getIfPresent(id);
+        if (cached != null && cached.etag().equals(etag)) {
+            return Optional.of(cached);
+        }
+        if (cached != null) {
+            // only drops the stale entry, not one a concurrent reload just put
+            cache.asMap().remove(id, cached);
+        }
+        return get(id, loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // strings are weighed at two bytes per char
+    private static int weigh(ProductResponse product) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (product.name().length() + product.imageUrl().length());
+    }
+
+    public record Entry(ProductResponse product, String etag) {
+        public static Entry of(Product product) {
+            return new Entry(ProductResponse.from(product), etag(product.getId(), product.getVersion()));
+        }
+
+        public static String etag(Long id, Long version) {
+            return ETags.of(id + "-" + version);
+        }
+    }
+}
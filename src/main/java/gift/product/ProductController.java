@@ -2,9 +2,17 @@ package gift.product;
 
 import gift.category.Category;
 import gift.category.CategoryRepository;
+import gift.common.CursorSlice;
+import gift.common.Cursors;
+import gift.common.ETags;
+import gift.option.OptionCatalogCache;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,36 +21,97 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-
-    public ProductController(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    private final ProductCatalogCache productCatalogCache;
+    private final OptionCatalogCache optionCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+
+    public ProductController(
+        ProductRepository productRepository,
+        CategoryRepository categoryRepository,
+        ProductCatalogCache productCatalogCache,
+        OptionCatalogCache optionCatalogCache,
+        ProductSearchIndex productSearchIndex
+    ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.optionCatalogCache = optionCatalogCache;
+        this.productSearchIndex = productSearchIndex;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getProducts(Pageable pageable) {
-        Page<ProductResponse> products = productRepository.findAll(pageable).map(ProductResponse::from);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<Page<ProductResponse>> getProducts(
+        Pageable pageable,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Page<VersionedProductResponse> products = productRepository.findAllVersionedResponses(pageable);
+        String etag = pageETag(products);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .body(products.map(VersionedProductResponse::toResponse));
+    }
+
+    // cursor mode: selected by the presence of the cursor parameter (empty for the first slice)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorSlice<ProductResponse>> getProducts(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        Cursors.validateSize(size);
+        List<ProductResponse> products = productRepository.findResponsesAfter(Cursors.decodeId(cursor), Limit.of(size + 1));
+        return ResponseEntity.ok(CursorSlice.of(products, size, product -> Cursors.encodeId(product.id())));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+        @RequestParam String q,
+        @RequestParam(required = false) Long categoryId,
+        @RequestParam(required = false) Integer minPrice,
+        @RequestParam(required = false) Integer maxPrice,
+        @RequestParam(defaultValue = "false") boolean prefix,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        ProductSearchQuery query = new ProductSearchQuery(q, categoryId, minPrice, maxPrice, prefix, size);
+        return ResponseEntity.ok(productSearchIndex.search(query));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
-        Product product = productRepository.findById(id).orElse(null);
-        if (product == null) {
+    public ResponseEntity<ProductResponse> getProduct(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // the version column is read on every request (a primary key lookup), so a product changed by another
+        // instance is neither revalidated nor served from this instance's cache; the cache only saves loading it
+        Long version = productRepository.findVersionById(id).orElse(null);
+        if (version == null) {
+            productCatalogCache.invalidate(id);
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(ProductResponse.from(product));
+        String etag = ProductCatalogCache.Entry.etag(id, version);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return productCatalogCache.get(id, etag,
+                () -> productRepository.findById(id).map(ProductCatalogCache.Entry::of).orElse(null))
+            .map(entry -> ResponseEntity.ok().eTag(entry.etag()).body(entry.product()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -55,8 +124,10 @@ public class ProductController {
         }
 
         Product saved = productRepository.save(request.toEntity(category));
+        ProductResponse response = ProductResponse.from(saved);
+        productSearchIndex.index(response);
         return ResponseEntity.created(URI.create("/api/products/" + saved.getId()))
-            .body(ProductResponse.from(saved));
+            .body(response);
     }
 
     @PutMapping("/{id}")
@@ -77,13 +148,21 @@ public class ProductController {
         }
 
         product.update(request.name(), request.price(), request.imageUrl(), category);
-        Product saved = productRepository.save(product);
-        return ResponseEntity.ok(ProductResponse.from(saved));
+        Product saved = productRepository.saveAndFlush(product);
+        productCatalogCache.invalidate(id);
+        ProductResponse response = ProductResponse.from(saved);
+        productSearchIndex.index(response);
+        return ResponseEntity.ok()
+            .eTag(ProductCatalogCache.Entry.etag(saved.getId(), saved.getVersion()))
+            .body(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productRepository.deleteById(id);
+        productCatalogCache.invalidate(id);
+        optionCatalogCache.invalidate(id);
+        productSearchIndex.remove(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -94,6 +173,20 @@ public class ProductController {
         }
     }
 
+    // page metadata plus the (id, version) of every row: any write to a listed product changes it
+    private static String pageETag(Page<VersionedProductResponse> page) {
+        return ETags.hashOf(page.getNumber() + "/" + page.getSize() + "/" + page.getTotalElements() + "/" + page.getSort()
+            + ":" + page.getContent().stream()
+            .map(product -> product.id() + "-" + product.version())
+            .collect(Collectors.joining(",")));
+    }
+
+    // a concurrent update bumped the version between our read and write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("상품이 다른 요청에 의해 변경되었습니다. 다시 시도해 주세요.");
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
         return ResponseEntity.badRequest().body(e.getMessage());
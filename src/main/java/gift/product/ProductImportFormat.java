@@ -0,0 +1,38 @@
+package gift.product;
+
+import java.util.Locale;
+
+/*
+ * CSV: header row with name,price,imageUrl,categoryId,options; options as "name:quantity|name:quantity"
+ * NDJSON: one ProductImportRow object per line
+ */
+public enum ProductImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    ProductImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public static ProductImportFormat fromFilename(String filename) {
+        String lower = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. (.csv, .ndjson, .jsonl)");
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        for (ProductImportFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(format.contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. (" + CSV.contentType + ", " + NDJSON.contentType + ")");
+    }
+}
@@ -0,0 +1,259 @@
+package gift.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gift.option.OptionRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Reads a bulk import file one row at a time; only the current row is held in memory.
+ * CSV follows RFC 4180 (quoted fields may contain commas, quotes and line breaks) and may start with a BOM.
+ * A row that cannot be parsed is returned with an error instead of failing the whole file.
+ * A row longer than maxRecordLength characters is not buffered: the rest of it, up to the next line break, is skipped
+ * (quotes are no longer tracked, so an unterminated quote cannot swallow the file) and it is returned as an error.
+ */
+final class ProductImportReader implements Closeable {
+    private static final List<String> CSV_COLUMNS = List.of("name", "price", "imageUrl", "categoryId", "options");
+
+    private final ProductImportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordLength;
+    private Map<String, Integer> csvColumns;
+    private long line;
+    // set by readLine and readCsvRecord when the record they just read was cut off at maxRecordLength
+    private boolean oversized;
+
+    ProductImportReader(ProductImportFormat format, InputStream in, ObjectMapper objectMapper, int maxRecordLength) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.objectMapper = objectMapper;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the file
+     */
+    Entry next() throws IOException {
+        return format == ProductImportFormat.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private Entry nextNdjson() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (!oversized && text.isBlank());
+
+        if (oversized) {
+            return new Entry(line, null, oversizedError());
+        }
+        try {
+            return new Entry(line, objectMapper.readValue(text, ProductImportRow.class), null);
+        } catch (JsonProcessingException e) {
+            return new Entry(line, null, "JSON 형식이 올바르지 않습니다. " + e.getOriginalMessage());
+        }
+    }
+
+    private Entry nextCsv() throws IOException {
+        if (csvColumns == null) {
+            readHeader();
+        }
+        long start = line + 1;
+        List<String> fields = readCsvRecord();
+        while (fields != null && fields.size() == 1 && fields.get(0).isBlank()) {
+            start = line + 1;
+            fields = readCsvRecord();
+        }
+        if (fields == null) {
+            return null;
+        }
+        if (oversized) {
+            return new Entry(start, null, oversizedError());
+        }
+
+        try {
+            ProductImportRow row = new ProductImportRow(
+                field(fields, "name"),
+                parseInteger(field(fields, "price"), "price"),
+                field(fields, "imageUrl"),
+                parseLong(field(fields, "categoryId"), "categoryId"),
+                parseOptions(field(fields, "options"))
+            );
+            return new Entry(start, row, null);
+        } catch (IllegalArgumentException e) {
+            return new Entry(start, null, e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        if (header == null) {
+            header = List.of();
+        }
+        if (oversized) {
+            throw new IllegalArgumentException(oversizedError());
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            csvColumns.put(header.get(i).strip(), i);
+        }
+        if (!header.isEmpty() && !csvColumns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV 헤더에는 " + String.join(",", CSV_COLUMNS) + " 컬럼이 필요합니다.");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = csvColumns.get(column);
+        return index < fields.size() ? fields.get(index).strip() : "";
+    }
+
+    private String oversizedError() {
+        return "행이 최대 길이(" + maxRecordLength + "자)를 넘습니다.";
+    }
+
+    // like BufferedReader.readLine, but stops buffering at maxRecordLength
+    private String readLine() throws IOException {
+        oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                if (text.length() == maxRecordLength) {
+                    oversized = true;
+                    skipLine();
+                    return "";
+                }
+                text.append((char) c);
+            }
+            c = reader.read();
+        }
+        return text.toString();
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>(CSV_COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (c != -1) {
+            boolean endOfRecord = !quoted && c == '\n';
+            if (!endOfRecord && ++length > maxRecordLength) {
+                oversized = true;
+                if (c != '\n') {
+                    skipLine();
+                }
+                return List.of();
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && c != '\n');
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    // "name:quantity|name:quantity"; ':' and '|' are not allowed in option names
+    private static List<OptionRequest> parseOptions(String value) {
+        List<OptionRequest> options = new ArrayList<>();
+        if (value.isEmpty()) {
+            return options;
+        }
+        for (String option : value.split("\\|")) {
+            int separator = option.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("옵션은 이름:수량 형식이어야 합니다: " + option);
+            }
+            Integer quantity = parseInteger(option.substring(separator + 1).strip(), "options");
+            options.add(new OptionRequest(option.substring(0, separator).strip(), quantity == null ? 0 : quantity));
+        }
+        return options;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // exactly one of row and error is set
+    record Entry(long line, ProductImportRow row, String error) {
+    }
+}
@@ -0,0 +1,57 @@
+package gift.product;
+
+import gift.option.OptionNameValidator;
+import gift.option.OptionRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * One product of a bulk import file, with the options created along with it.
+ */
+public record ProductImportRow(
+    String name,
+    Integer price,
+    String imageUrl,
+    Long categoryId,
+    List<OptionRequest> options
+) {
+    private static final int MAX_OPTION_QUANTITY = 99_999_999;
+
+    List<String> validate(Set<Long> categoryIds) {
+        List<String> errors = new ArrayList<>(ProductNameValidator.validate(name, true));
+        if (price == null || price <= 0) {
+            errors.add("가격은 0보다 커야 합니다.");
+        }
+        if (imageUrl == null || imageUrl.isBlank()) {
+            errors.add("이미지 URL은 필수입니다.");
+        } else if (imageUrl.length() > 255) {
+            errors.add("이미지 URL은 최대 255자까지 입력할 수 있습니다.");
+        }
+        if (categoryId == null || !categoryIds.contains(categoryId)) {
+            errors.add("카테고리가 존재하지 않습니다. id=" + categoryId);
+        }
+        if (options == null || options.isEmpty()) {
+            errors.add("상품에는 최소 1개의 옵션이 필요합니다.");
+            return errors;
+        }
+
+        Set<String> optionNames = new HashSet<>();
+        for (OptionRequest option : options) {
+            if (option == null) {
+                errors.add("옵션이 비어 있습니다.");
+                continue;
+            }
+            errors.addAll(OptionNameValidator.validate(option.name()));
+            if (option.quantity() < 1 || option.quantity() > MAX_OPTION_QUANTITY) {
+                errors.add("옵션 수량은 1 이상 99,999,999 이하여야 합니다. 옵션=" + option.name());
+            }
+            if (!optionNames.add(option.name())) {
+                errors.add("이미 존재하는 옵션명입니다. 옵션=" + option.name());
+            }
+        }
+        return errors;
+    }
+}
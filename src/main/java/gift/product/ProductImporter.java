@@ -0,0 +1,117 @@
+package gift.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gift.category.Category;
+import gift.category.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Streams a bulk import file into the catalog.
+ * - rows are validated as they are read; valid rows are written in chunks of CHUNK_SIZE, one transaction per chunk
+ * - memory stays constant: one chunk of rows at a time, errors go straight to the report
+ * - a row longer than product.import.max-record-length characters is reported and skipped, not buffered
+ * - the report is CSV (line,error) ending with a summary row; a failed chunk reports all of its rows
+ */
+@Component
+public class ProductImporter {
+    static final int CHUNK_SIZE = 1_000;
+
+    private final ProductBulkRepository productBulkRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordLength;
+
+    public ProductImporter(
+        ProductBulkRepository productBulkRepository,
+        CategoryRepository categoryRepository,
+        ProductSearchIndex productSearchIndex,
+        ObjectMapper objectMapper,
+        @Value("${product.import.max-record-length:65536}") int maxRecordLength
+    ) {
+        if (maxRecordLength <= 0) {
+            throw new IllegalArgumentException("product.import.max-record-length must be positive.");
+        }
+        this.productBulkRepository = productBulkRepository;
+        this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.objectMapper = objectMapper;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public void importProducts(ProductImportFormat format, InputStream in, PrintWriter report) throws IOException {
+        Set<Long> categoryIds = categoryRepository.findAll().stream()
+            .map(Category::getId)
+            .collect(Collectors.toSet());
+        Result result = new Result();
+        report.println("line,error");
+
+        try (ProductImportReader reader = new ProductImportReader(format, in, objectMapper, maxRecordLength)) {
+            List<ProductImportReader.Entry> chunk = new ArrayList<>(CHUNK_SIZE);
+            ProductImportReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                String error = entry.error();
+                if (error == null) {
+                    List<String> errors = entry.row().validate(categoryIds);
+                    error = errors.isEmpty() ? null : String.join(", ", errors);
+                }
+                if (error != null) {
+                    reportError(report, entry.line(), error, result);
+                    continue;
+                }
+                chunk.add(entry);
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, report, result);
+                }
+            }
+            flush(chunk, report, result);
+        } catch (IllegalArgumentException e) {
+            // the file itself is unusable, e.g. a CSV header without the required columns
+            reportError(report, 1, e.getMessage(), result);
+        }
+        report.println("summary," + csv("imported=" + result.imported + " failed=" + result.failed));
+        report.flush();
+    }
+
+    private void flush(List<ProductImportReader.Entry> chunk, PrintWriter report, Result result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<ProductResponse> saved = productBulkRepository.insertAll(chunk.stream().map(ProductImportReader.Entry::row).toList());
+            saved.forEach(productSearchIndex::index);
+            result.imported += saved.size();
+        } catch (DataAccessException e) {
+            String error = "저장에 실패했습니다. " + e.getMostSpecificCause().getMessage();
+            for (ProductImportReader.Entry entry : chunk) {
+                reportError(report, entry.line(), error, result);
+            }
+        }
+        chunk.clear();
+        report.flush();
+    }
+
+    private static void reportError(PrintWriter report, long line, String error, Result result) {
+        report.println(line + "," + csv(error));
+        result.failed++;
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class Result {
+        private long imported;
+        private long failed;
+    }
+}
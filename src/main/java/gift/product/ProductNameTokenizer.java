@@ -0,0 +1,150 @@
+package gift.product;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Segments product names for ProductSearchIndex.
+ * - names and queries are normalized: lower case, whitespace removed
+ * - index tokens: character bigrams, unigrams (Hangul syllables by their initial consonant),
+ *   and "syllable + initial consonant of the next syllable" pairs
+ * - a trailing Hangul character of a query may still be in composition (e.g. "컾" on the way to "커피"),
+ *   so only its initial consonant is used; matches are then verified on the jamo sequence
+ * Tokens only narrow the candidates: a name matches a query when its jamo sequence contains the query's.
+ */
+final class ProductNameTokenizer {
+    private static final char SYLLABLE_BASE = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final char JAMO_FIRST = 'ㄱ';
+    private static final char JAMO_LAST = 'ㅣ';
+    private static final char INITIAL_MARK = '\u0001';
+
+    private static final String INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] MEDIALS = {
+        "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ",
+        "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] FINALS = {
+        "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ",
+        "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // compatibility jamo typed on their own, with compound ones split like FINALS and MEDIALS
+    private static final String[] COMPATIBILITY_JAMO = new String[JAMO_LAST - JAMO_FIRST + 1];
+
+    static {
+        for (char c = JAMO_FIRST; c <= JAMO_LAST; c++) {
+            COMPATIBILITY_JAMO[c - JAMO_FIRST] = String.valueOf(c);
+        }
+        String compounds = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄ";
+        String[] parts = {"ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ"};
+        for (int i = 0; i < compounds.length(); i++) {
+            COMPATIBILITY_JAMO[compounds.charAt(i) - JAMO_FIRST] = parts[i];
+        }
+        for (int i = 0; i < MEDIALS.length; i++) {
+            COMPATIBILITY_JAMO['ㅏ' + i - JAMO_FIRST] = MEDIALS[i];
+        }
+    }
+
+    private ProductNameTokenizer() {
+    }
+
+    static String normalize(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // normalized text to its jamo sequence; characters other than Hangul are kept as is
+    static String decompose(String normalized) {
+        StringBuilder builder = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BASE;
+                builder.append(INITIALS.charAt(index / 588))
+                    .append(MEDIALS[index % 588 / 28])
+                    .append(FINALS[index % 28]);
+            } else if (isJamo(c)) {
+                builder.append(COMPATIBILITY_JAMO[c - JAMO_FIRST]);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    static Set<String> indexTokens(String normalized) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            tokens.add(unigram(c));
+            if (i > 0) {
+                char previous = normalized.charAt(i - 1);
+                tokens.add(String.valueOf(new char[]{previous, c}));
+                if (initialOf(c) != 0) {
+                    tokens.add(pair(previous, initialOf(c)));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return tokens every matching name is indexed under; empty if the query is too short to narrow anything
+     */
+    static List<String> queryTokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        char last = normalized.charAt(normalized.length() - 1);
+        boolean composing = isSyllable(last) || isJamo(last);
+        String complete = composing ? normalized.substring(0, normalized.length() - 1) : normalized;
+
+        for (int i = 1; i < complete.length(); i++) {
+            tokens.add(complete.substring(i - 1, i + 1));
+        }
+        char initial = composing ? initialOf(last) : 0;
+        if (initial != 0) {
+            tokens.add(complete.isEmpty() ? unigram(last) : pair(complete.charAt(complete.length() - 1), initial));
+        } else if (complete.length() == 1) {
+            tokens.add(unigram(complete.charAt(0)));
+        }
+        return tokens;
+    }
+
+    private static String unigram(char c) {
+        if (isSyllable(c) || initialOf(c) != 0) {
+            return String.valueOf(new char[]{INITIAL_MARK, initialOf(c)});
+        }
+        return String.valueOf(c);
+    }
+
+    private static String pair(char previous, char initial) {
+        return String.valueOf(new char[]{previous, INITIAL_MARK, initial});
+    }
+
+    // the initial consonant of a syllable, a consonant jamo that can start a syllable, or 0
+    private static char initialOf(char c) {
+        if (isSyllable(c)) {
+            return INITIALS.charAt((c - SYLLABLE_BASE) / 588);
+        }
+        return INITIALS.indexOf(c) >= 0 ? c : 0;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    private static boolean isJamo(char c) {
+        return c >= JAMO_FIRST && c <= JAMO_LAST;
+    }
+}
@@ -1,6 +1,38 @@
 package gift.product;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // one select per page (plus the count), categories are never loaded; versions feed the page ETag
+    @Query(
+        value = "select new gift.product.VersionedProductResponse(p.id, p.name, p.price, p.imageUrl, p.category.id, p.version) "
+            + "from Product p",
+        countQuery = "select count(p) from Product p"
+    )
+    Page<VersionedProductResponse> findAllVersionedResponses(Pageable pageable);
+
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // keyset pagination: primary key seek, no count query
+    @Query("select new gift.product.ProductResponse(p.id, p.name, p.price, p.imageUrl, p.category.id) "
+        + "from Product p where p.id > :afterId order by p.id")
+    List<ProductResponse> findResponsesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // admin list: slices skip the count query, prefix matches use idx_product_name
+    @EntityGraph("Product.withCategory")
+    Slice<Product> findAllBy(Pageable pageable);
+
+    @EntityGraph("Product.withCategory")
+    Slice<Product> findByNameStartingWith(String prefix, Pageable pageable);
 }
@@ -0,0 +1,218 @@
+package gift.product;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * In-process inverted index over product names (see ProductNameTokenizer), with category and price filters.
+ * - documents are append-only: an update appends a new document and tombstones the old one,
+ *   so posting lists stay sorted by document number without ever being rewritten
+ * - the index is compacted once more than half of the documents are tombstones
+ * - built from ProductRepository when the application is ready, then kept up to date by product writes
+ * - results are the most recently indexed matches first
+ */
+@Component
+public class ProductSearchIndex {
+    private static final int BUILD_BATCH_SIZE = 1_000;
+    private static final int MIN_COMPACTION_SIZE = 1_024;
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documentByProductId = new HashMap<>();
+    private ProductResponse[] documents = new ProductResponse[BUILD_BATCH_SIZE];
+    private String[] jamos = new String[BUILD_BATCH_SIZE];
+    private int documentCount;
+    private int tombstoneCount;
+
+    // products removed while the initial build runs; the build must not bring them back
+    private Set<Long> removedDuringBuild = new HashSet<>();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long afterId = 0L;
+        List<ProductResponse> batch;
+        do {
+            batch = productRepository.findResponsesAfter(afterId, Limit.of(BUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductResponse product : batch) {
+                    // writes that raced the build already indexed a fresher copy
+                    if (!documentByProductId.containsKey(product.id()) && !removedDuringBuild.contains(product.id())) {
+                        add(product);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            removedDuringBuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(ProductResponse product) {
+        lock.writeLock().lock();
+        try {
+            tombstone(product.id());
+            add(product);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(productId);
+            if (removedDuringBuild != null) {
+                removedDuringBuild.add(productId);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount - tombstoneCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductResponse> search(ProductSearchQuery query) {
+        String normalized = ProductNameTokenizer.normalize(query.text());
+        String jamo = ProductNameTokenizer.decompose(normalized);
+        List<String> tokens = ProductNameTokenizer.queryTokens(normalized);
+        List<ProductResponse> results = new ArrayList<>(query.size());
+        if (tokens.isEmpty()) {
+            return results;
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[tokens.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(tokens.get(i));
+                if (lists[i] == null) {
+                    return results;
+                }
+            }
+            // walk the shortest list, probe the others
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists[0];
+            for (int i = shortest.size - 1; i >= 0 && results.size() < query.size(); i--) {
+                int document = shortest.documents[i];
+                ProductResponse product = documents[document];
+                if (product == null || !query.accepts(product) || !containsAll(lists, document)) {
+                    continue;
+                }
+                boolean matches = query.prefix() ? jamos[document].startsWith(jamo) : jamos[document].contains(jamo);
+                if (matches) {
+                    results.add(product);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(Postings[] lists, int document) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(ProductResponse product) {
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documentCount * 2);
+            jamos = Arrays.copyOf(jamos, documentCount * 2);
+        }
+        int document = documentCount++;
+        String normalized = ProductNameTokenizer.normalize(product.name());
+        documents[document] = product;
+        jamos[document] = ProductNameTokenizer.decompose(normalized);
+        documentByProductId.put(product.id(), document);
+        for (String token : ProductNameTokenizer.indexTokens(normalized)) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(document);
+        }
+    }
+
+    private void tombstone(Long productId) {
+        Integer document = documentByProductId.remove(productId);
+        if (document != null) {
+            documents[document] = null;
+            jamos[document] = null;
+            tombstoneCount++;
+        }
+    }
+
+    // re-adds the live documents in their current order
+    private void compactIfSparse() {
+        if (tombstoneCount < MIN_COMPACTION_SIZE || tombstoneCount * 2 <= documentCount) {
+            return;
+        }
+        ProductResponse[] live = Arrays.copyOf(documents, documentCount);
+        postings.clear();
+        documentByProductId.clear();
+        documents = new ProductResponse[Math.max(BUILD_BATCH_SIZE, documentCount - tombstoneCount)];
+        jamos = new String[documents.length];
+        documentCount = 0;
+        tombstoneCount = 0;
+        for (ProductResponse product : live) {
+            if (product != null) {
+                add(product);
+            }
+        }
+    }
+
+    // document numbers in ascending order
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+    }
+}
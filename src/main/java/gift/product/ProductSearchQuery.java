@@ -0,0 +1,32 @@
+package gift.product;
+
+import gift.common.Cursors;
+
+/*
+ * Parameters of GET /api/products/search.
+ * prefix: match names starting with the text (autocomplete) instead of names containing it.
+ */
+public record ProductSearchQuery(
+    String text,
+    Long categoryId,
+    Integer minPrice,
+    Integer maxPrice,
+    boolean prefix,
+    int size
+) {
+    public ProductSearchQuery {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("검색어는 필수입니다.");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        Cursors.validateSize(size);
+    }
+
+    boolean accepts(ProductResponse product) {
+        return (categoryId == null || categoryId.equals(product.categoryId()))
+            && (minPrice == null || product.price() >= minPrice)
+            && (maxPrice == null || product.price() <= maxPrice);
+    }
+}
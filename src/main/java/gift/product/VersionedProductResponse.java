@@ -0,0 +1,17 @@
+package gift.product;
+
+/*
+ * ProductResponse plus the entity version, read by projection so listing ETags never require loading entities.
+ */
+public record VersionedProductResponse(
+    Long id,
+    String name,
+    int price,
+    String imageUrl,
+    Long categoryId,
+    Long version
+) {
+    public ProductResponse toResponse() {
+        return new ProductResponse(id, name, price, imageUrl, categoryId);
+    }
+}
@@ -1,18 +1,24 @@
 package gift.wish;
 
 import gift.auth.AuthenticationResolver;
+import gift.common.CursorSlice;
+import gift.common.Cursors;
 import gift.product.ProductRepository;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
@@ -44,10 +50,27 @@ public class WishController {
         if (member == null) {
             return ResponseEntity.status(401).build();
         }
-        var wishes = wishRepository.findByMemberId(member.getId(), pageable).map(WishResponse::from);
+        var wishes = wishRepository.findResponsesByMemberId(member.id(), pageable);
         return ResponseEntity.ok(wishes);
     }
 
+    // cursor mode: selected by the presence of the cursor parameter (empty for the first slice)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorSlice<WishResponse>> getWishes(
+        @RequestHeader("Authorization") String authorization,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        // check auth
+        var member = authenticationResolver.extractMember(authorization);
+        if (member == null) {
+            return ResponseEntity.status(401).build();
+        }
+        Cursors.validateSize(size);
+        var wishes = wishRepository.findResponsesByMemberIdAfter(member.id(), Cursors.decodeId(cursor), Limit.of(size + 1));
+        return ResponseEntity.ok(CursorSlice.of(wishes, size, wish -> Cursors.encodeId(wish.id())));
+    }
+
     @PostMapping
     public ResponseEntity<WishResponse> addWish(
         @RequestHeader("Authorization") String authorization,
@@ -65,15 +88,15 @@ public class WishController {
             return ResponseEntity.notFound().build();
         }
 
-        // check duplicate
-        var existing = wishRepository.findByMemberIdAndProductId(member.getId(), product.getId()).orElse(null);
-        if (existing != null) {
+        // insert, or return the existing wish on a (member_id, product_id) conflict
+        try {
+            var saved = wishRepository.saveAndFlush(new Wish(member.id(), product));
+            return ResponseEntity.created(URI.create("/api/wishes/" + saved.getId()))
+                .body(WishResponse.from(saved));
+        } catch (DataIntegrityViolationException e) {
+            var existing = wishRepository.findByMemberIdAndProductId(member.id(), product.getId()).orElseThrow(() -> e);
             return ResponseEntity.ok(WishResponse.from(existing));
         }
-
-        var saved = wishRepository.save(new Wish(member.getId(), product));
-        return ResponseEntity.created(URI.create("/api/wishes/" + saved.getId()))
-            .body(WishResponse.from(saved));
     }
 
     @DeleteMapping("/{id}")
@@ -92,11 +115,16 @@ public class WishController {
             return ResponseEntity.notFound().build();
         }
 
-        if (!wish.getMemberId().equals(member.getId())) {
+        if (!wish.getMemberId().equals(member.id())) {
             return ResponseEntity.status(403).build();
         }
 
         wishRepository.delete(wish);
         return ResponseEntity.noContent().build();
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
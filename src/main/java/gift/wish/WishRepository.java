@@ -1,13 +1,34 @@
 package gift.wish;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface WishRepository extends JpaRepository<Wish, Long> {
-    Page<Wish> findByMemberId(Long memberId, Pageable pageable);
+    // one select per page (plus the count) joining the product, instead of one product select per wish
+    @Query(
+        value = "select new gift.wish.WishResponse(w.id, p.id, p.name, p.price, p.imageUrl) "
+            + "from Wish w join w.product p where w.memberId = :memberId",
+        countQuery = "select count(w) from Wish w where w.memberId = :memberId"
+    )
+    Page<WishResponse> findResponsesByMemberId(@Param("memberId") Long memberId, Pageable pageable);
 
+    // keyset pagination: seeks idx_wish_member_id (member_id, id) and reads in index order, no count query
+    @Query("select new gift.wish.WishResponse(w.id, p.id, p.name, p.price, p.imageUrl) "
+        + "from Wish w join w.product p where w.memberId = :memberId and w.id > :afterId order by w.id")
+    List<WishResponse> findResponsesByMemberIdAfter(
+        @Param("memberId") Long memberId,
+        @Param("afterId") long afterId,
+        Limit limit
+    );
+
+    @EntityGraph("Wish.withProduct")
     Optional<Wish> findByMemberIdAndProductId(Long memberId, Long productId);
 }
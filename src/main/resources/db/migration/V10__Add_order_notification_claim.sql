@@ -0,0 +1,4 @@
+-- order_notification: rows are claimed by one dispatcher instance before sending
+alter table order_notification add column claim_token varchar(36);
+
+create index idx_order_notification_claim_token on order_notification (claim_token);
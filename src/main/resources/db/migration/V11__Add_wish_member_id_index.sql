@@ -0,0 +1,3 @@
+-- wish: keyset listing (member_id = ? and id > ? order by id); the unique (member_id, product_id) key
+-- serves the member_id foreign key but would need a filesort over all of the member's wishes
+create index idx_wish_member_id on wish (member_id, id);
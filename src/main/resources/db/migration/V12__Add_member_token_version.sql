@@ -0,0 +1,2 @@
+-- member: bumped when a member's credentials change; service JWTs carry the version they were issued for
+alter table member add column token_version int not null default 0;
@@ -0,0 +1,15 @@
+create table order_notification
+(
+    id              bigint auto_increment primary key,
+    order_id        bigint       not null,
+    member_id       bigint       not null,
+    status          varchar(20)  not null,
+    attempts        int          not null default 0,
+    next_attempt_at timestamp    not null,
+    last_error      varchar(255),
+    created_at      timestamp    not null,
+    foreign key (order_id) references orders (id),
+    foreign key (member_id) references member (id)
+);
+
+create index idx_order_notification_status_next_attempt on order_notification (status, next_attempt_at);
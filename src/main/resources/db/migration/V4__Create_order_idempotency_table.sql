@@ -0,0 +1,13 @@
+create table order_idempotency
+(
+    id              bigint auto_increment primary key,
+    member_id       bigint       not null,
+    idempotency_key varchar(100) not null,
+    order_id        bigint,
+    created_at      timestamp    not null,
+    unique (member_id, idempotency_key),
+    foreign key (member_id) references member (id),
+    foreign key (order_id) references orders (id)
+);
+
+create index idx_order_idempotency_created_at on order_idempotency (created_at);
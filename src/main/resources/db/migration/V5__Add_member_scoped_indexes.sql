@@ -0,0 +1,48 @@
+-- The unique keys below replace a racy check-then-insert, so existing data may hold duplicates.
+-- They are removed first, keeping the lowest id of each group.
+-- (Derived tables are materialized, which lets MySQL read the table it is modifying.)
+
+-- wish: duplicates carry no data of their own
+delete from wish
+where id not in (
+    select keep_id from (select min(id) as keep_id from wish group by member_id, product_id) kept
+);
+
+-- options: the kept row takes over the stock and the orders of its duplicates
+update options
+set quantity = (
+    select total from (
+        select product_id, name, sum(quantity) as total from options group by product_id, name
+    ) totals
+    where totals.product_id = options.product_id and totals.name = options.name
+)
+where id in (
+    select keep_id from (
+        select min(id) as keep_id from options group by product_id, name having count(*) > 1
+    ) kept
+);
+
+update orders
+set option_id = (
+    select min(kept.id)
+    from options kept
+    join options duplicate on duplicate.product_id = kept.product_id and duplicate.name = kept.name
+    where duplicate.id = orders.option_id
+)
+where option_id not in (
+    select keep_id from (select min(id) as keep_id from options group by product_id, name) kept
+);
+
+delete from options
+where id not in (
+    select keep_id from (select min(id) as keep_id from options group by product_id, name) kept
+);
+
+-- wish: duplicate check and per-member listing
+alter table wish add constraint uk_wish_member_product unique (member_id, product_id);
+
+-- orders: per-member listing ordered by order_date_time
+create index idx_orders_member_order_date_time on orders (member_id, order_date_time);
+
+-- options: per-product listing and duplicate name check
+alter table options add constraint uk_options_product_name unique (product_id, name);
@@ -0,0 +1,2 @@
+-- orders: export by order_date_time range, ordered by (order_date_time, id)
+create index idx_orders_order_date_time on orders (order_date_time, id);
@@ -0,0 +1,2 @@
+-- product: admin list name prefix filter and sort
+create index idx_product_name on product (name);
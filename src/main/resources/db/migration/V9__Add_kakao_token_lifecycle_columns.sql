@@ -0,0 +1,6 @@
+-- member: Kakao refresh token and expiry, for refreshing access tokens before they lapse
+alter table member add column kakao_access_token_expires_at timestamp;
+alter table member add column kakao_refresh_token varchar(512);
+alter table member add column kakao_refresh_token_expires_at timestamp;
+
+create index idx_member_kakao_access_token_expires_at on member (kakao_access_token_expires_at);
@@ -0,0 +1,109 @@
+package gift;
+
+import gift.category.CategoryRepository;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.order.Order;
+import gift.order.OrderRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * The ManyToOne associations are lazy; only the call sites that need a graph fetch it, in the same statement.
+ * Entity load counts come from Hibernate statistics; statements from SqlStatementRecorder (per thread).
+ * Before, loading one order also loaded its option, product and category.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LazyLoadingTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Product product = productRepository.save(
+            new Product("지연 로딩 상품", 1_000, "https://example.com/lazy.jpg", categoryRepository.findAll().get(0)));
+        Option option = optionRepository.save(new Option(product, "기본 옵션", 10));
+        Member member = memberRepository.save(new Member("lazy-" + UUID.randomUUID() + "@example.com", "password"));
+        orderId = orderRepository.save(new Order(option, member.getId(), 1, null)).getId();
+    }
+
+    @Test
+    void loadingAnOrderLoadsOnlyTheOrder() throws Exception {
+        AtomicReference<Order> order = new AtomicReference<>();
+        statistics.clear();
+
+        List<String> statements = SqlStatementRecorder.record(() -> order.set(orderRepository.findById(orderId).orElseThrow()));
+
+        assertThat(statements).hasSize(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(Hibernate.isInitialized(order.get().getOption())).isFalse();
+    }
+
+    @Test
+    void kakaoMessageGraphLoadsOptionAndProductButNotCategory() throws Exception {
+        AtomicReference<Order> order = new AtomicReference<>();
+        statistics.clear();
+
+        List<String> statements = SqlStatementRecorder.record(
+            () -> order.set(orderRepository.findWithOptionAndProductById(orderId).orElseThrow()));
+
+        assertThat(statements).hasSize(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+        Product product = order.get().getOption().getProduct();
+        assertThat(Hibernate.isInitialized(product)).isTrue();
+        assertThat(product.getName()).isEqualTo("지연 로딩 상품");
+        assertThat(Hibernate.isInitialized(product.getCategory())).isFalse();
+    }
+
+    @Test
+    void adminProductListFetchesCategoriesWithTheProducts() throws Exception {
+        AtomicReference<Slice<Product>> products = new AtomicReference<>();
+
+        List<String> statements = SqlStatementRecorder.record(
+            () -> products.set(productRepository.findAllBy(PageRequest.of(0, 20))));
+
+        assertThat(statements).hasSize(1);
+        assertThat(products.get().getContent())
+            .isNotEmpty()
+            .allSatisfy(product -> assertThat(Hibernate.isInitialized(product.getCategory())).isTrue());
+    }
+}
@@ -0,0 +1,104 @@
+package gift;
+
+import gift.auth.JwtProvider;
+import gift.category.Category;
+import gift.category.CategoryRepository;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.order.Order;
+import gift.order.OrderRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import gift.wish.Wish;
+import gift.wish.WishRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Each listing page must cost the same number of SQL statements whatever its size (no per-row selects):
+ * one for the rows, plus the count query in page mode.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListingStatementCountTest {
+    private static final int ROWS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private WishRepository wishRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.findAll().get(0);
+        Member member = memberRepository.save(new Member("listing-" + UUID.randomUUID() + "@example.com", "password"));
+        for (int i = 0; i < ROWS; i++) {
+            Product product = productRepository.save(new Product("목록 상품 " + i, 1_000, "https://example.com/list.jpg", category));
+            Option option = optionRepository.save(new Option(product, "기본 옵션", 10));
+            wishRepository.save(new Wish(member.getId(), product));
+            orderRepository.save(new Order(option, member.getId(), 1, null));
+        }
+        authorization = "Bearer " + jwtProvider.createToken(member.getId(), member.getEmail(), member.getTokenVersion());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+        "/api/products?page=0&size=%d",
+        "/api/products?cursor=&size=%d",
+        "/api/wishes?page=0&size=%d",
+        "/api/wishes?cursor=&size=%d",
+        "/api/orders?page=0&size=%d",
+        "/api/orders?cursor=&size=%d"
+    })
+    void statementCountDoesNotGrowWithPageSize(String url) throws Exception {
+        // warms the principal and token version caches, which are not part of the listing
+        statementsFor(url.formatted(1));
+
+        List<String> small = statementsFor(url.formatted(5));
+        List<String> large = statementsFor(url.formatted(ROWS));
+
+        assertThat(large).hasSameSizeAs(small).hasSizeLessThanOrEqualTo(2);
+    }
+
+    private List<String> statementsFor(String url) throws Exception {
+        return SqlStatementRecorder.record(() -> mockMvc.perform(get(url).header("Authorization", authorization))
+            .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,61 @@
+package gift;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * EXPLAINs the SQL of the per-request repository queries on the migrated schema and checks that none of them
+ * scans a whole table. H2 writes the index it picked next to each table in the plan, or `tableScan` when there is none.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+            Arguments.of("WishRepository.findByMemberIdAndProductId",
+                "select w.id from wish w where w.member_id = 1 and w.product_id = 1"),
+            Arguments.of("WishRepository.findResponsesByMemberIdAfter",
+                "select w.id from wish w where w.member_id = 1 and w.id > 0 order by w.id limit 21"),
+            Arguments.of("OrderRepository.findResponsesByMemberId",
+                "select o.id from orders o where o.member_id = 1 order by o.order_date_time desc limit 20"),
+            Arguments.of("OrderRepository.findResponsesByMemberIdBefore",
+                "select o.id from orders o where o.member_id = 1 and (o.order_date_time < timestamp '2026-01-01 00:00:00' "
+                    + "or (o.order_date_time = timestamp '2026-01-01 00:00:00' and o.id < 100)) "
+                    + "order by o.order_date_time desc, o.id desc limit 21"),
+            Arguments.of("OptionRepository.findByProductId",
+                "select o.id from options o where o.product_id = 1"),
+            Arguments.of("options (product_id, name) duplicate check",
+                "select o.id from options o where o.product_id = 1 and o.name = '기본'"),
+            Arguments.of("ProductRepository.findByNameStartingWith",
+                "select p.id from product p where p.name like '맥북%' order by p.name limit 20"),
+            Arguments.of("OrderNotificationRepository.findByStatusAndNextAttemptAtLessThanEqual",
+                "select n.id from order_notification n where n.status = 'PENDING' "
+                    + "and n.next_attempt_at <= timestamp '2026-01-01 00:00:00' order by n.next_attempt_at limit 100"),
+            Arguments.of("OrderNotificationRepository.findByClaimToken",
+                "select n.id from order_notification n where n.claim_token = 'token'"),
+            Arguments.of("MemberRepository.findIdsWithKakaoAccessTokenExpiringBefore",
+                "select m.id from member m where m.kakao_access_token_expires_at < timestamp '2026-01-01 00:00:00' "
+                    + "and m.kakao_refresh_token is not null order by m.kakao_access_token_expires_at limit 100")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void usesAnIndex(String query, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertThat(plan).as(query).doesNotContain("tableScan");
+    }
+}
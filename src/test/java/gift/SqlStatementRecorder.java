@@ -0,0 +1,41 @@
+package gift;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Records the SQL Hibernate prepares on the current thread while an action runs.
+ * Per thread rather than global, so the background pollers of the same context do not add to the count;
+ * MockMvc requests run on the calling thread, so they are recorded too.
+ * Registered as hibernate.session_factory.statement_inspector in the test profile.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    public static List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,82 @@
+package gift.auth;
+
+import gift.member.Member;
+import gift.member.MemberRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Revocation through the member's token version, for both token formats.
+ * Version 1 tokens carry only the email subject, so they are built here the way they used to be issued.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthenticationResolverTest {
+    @Autowired
+    private AuthenticationResolver authenticationResolver;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void emailOnlyTokenIsRejectedAfterUpdateCredentials() {
+        Member member = member();
+        String authorization = "Bearer " + emailOnlyToken(member.getEmail());
+        assertThat(authenticationResolver.extractMember(authorization))
+            .isEqualTo(new AuthenticatedMember(member.getId(), member.getEmail()));
+
+        // same email, so the token still resolves to the member and only the token version can revoke it
+        updateCredentials(member);
+
+        assertThat(authenticationResolver.extractMember(authorization)).isNull();
+    }
+
+    @Test
+    void memberIdTokenIsRejectedAfterUpdateCredentials() {
+        Member member = member();
+        String authorization = "Bearer " + jwtProvider.createToken(member.getId(), member.getEmail(), member.getTokenVersion());
+        assertThat(authenticationResolver.extractMember(authorization)).isNotNull();
+
+        updateCredentials(member);
+
+        assertThat(authenticationResolver.extractMember(authorization)).isNull();
+    }
+
+    private Member member() {
+        return memberRepository.save(new Member("auth-" + UUID.randomUUID() + "@example.com", "password"));
+    }
+
+    private void updateCredentials(Member member) {
+        memberRepository.updateCredentials(member.getId(), member.getEmail(), "new-password");
+        principalCache.invalidateMember(member.getId());
+    }
+
+    private String emailOnlyToken(String email) {
+        Date now = new Date();
+        return Jwts.builder()
+            .subject(email)
+            .issuedAt(now)
+            .expiration(new Date(now.getTime() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+            .compact();
+    }
+}
@@ -0,0 +1,267 @@
+package gift.auth;
+
+import com.sun.net.httpserver.HttpServer;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Drives KakaoTokenManager against a local stub of kauth.kakao.com/oauth/token.
+ * The stub answers by the prefix of the refresh token it is sent:
+ * - invalid-: 400 invalid_grant; client-error-: 401 invalid_client; server-error-: 500
+ * - renewing-: a new access token and a new refresh token
+ * - slow-: a new access token after SLOW_MILLIS
+ * - anything else: a new access token only, as Kakao does while the refresh token is far from expiry
+ */
+@SpringBootTest(properties = {
+    "kakao.token.refresh-interval=3600000",
+    "kakao.token.refresh-ahead=30m",
+    "kakao.token.expiry-skew=1m"
+})
+@ActiveProfiles("test")
+class KakaoTokenManagerTest {
+    private static final long ACCESS_TOKEN_TTL_SECONDS = 21_599;
+    private static final long SLOW_MILLIS = 200;
+    private static final Map<String, AtomicInteger> refreshes = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> concurrentRefreshes = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> maxConcurrentRefreshes = new ConcurrentHashMap<>();
+    private static final AtomicInteger issued = new AtomicInteger();
+    private static final HttpServer kakao = startKakao();
+
+    @Autowired
+    private KakaoTokenManager kakaoTokenManager;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @DynamicPropertySource
+    static void kakaoProperties(DynamicPropertyRegistry registry) {
+        registry.add("kakao.api.auth-base-url", () -> "http://127.0.0.1:" + kakao.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopKakao() {
+        kakao.stop(0);
+    }
+
+    @Test
+    void refreshExpiringRefreshesOnlyTokensThatLapseWithinRefreshAhead() {
+        LocalDateTime now = LocalDateTime.now();
+        Member expiring = member("expiring-access", now.plusMinutes(5), "refresh-" + UUID.randomUUID(), now.plusDays(30));
+        Member fresh = member("fresh-access", now.plusHours(2), "refresh-" + UUID.randomUUID(), now.plusDays(30));
+
+        kakaoTokenManager.refreshExpiring();
+
+        Member refreshed = reload(expiring);
+        assertThat(refreshes(expiring.getKakaoRefreshToken())).isEqualTo(1);
+        assertThat(refreshed.getKakaoAccessToken()).startsWith("issued-");
+        assertThat(refreshed.getKakaoAccessTokenExpiresAt()).isAfter(now.plusHours(5));
+        assertThat(refreshes(fresh.getKakaoRefreshToken())).isZero();
+        assertThat(reload(fresh).getKakaoAccessToken()).isEqualTo(fresh.getKakaoAccessToken());
+        // served from the cache filled by the refresh, without another call
+        assertThat(kakaoTokenManager.accessToken(expiring.getId())).contains(refreshed.getKakaoAccessToken());
+        assertThat(refreshes(expiring.getKakaoRefreshToken())).isEqualTo(1);
+    }
+
+    @Test
+    void invalidGrantClearsTheTokensAndLaterSendsAreSkipped() {
+        LocalDateTime now = LocalDateTime.now();
+        Member member = member("lapsed-access", now.minusMinutes(1), "invalid-" + UUID.randomUUID(), now.plusDays(30));
+
+        assertThat(kakaoTokenManager.accessToken(member.getId())).isEmpty();
+
+        Member cleared = reload(member);
+        assertThat(cleared.getKakaoAccessToken()).isNull();
+        assertThat(cleared.getKakaoRefreshToken()).isNull();
+        assertThat(kakaoTokenManager.hasToken(member.getId())).isFalse();
+        assertThat(kakaoTokenManager.accessToken(member.getId())).isEmpty();
+        assertThat(refreshes(member.getKakaoRefreshToken())).isEqualTo(1);
+    }
+
+    @Test
+    void otherErrorsAreRethrownAndTheTokenIsKept() {
+        LocalDateTime now = LocalDateTime.now();
+        Member serverError = member("lapsed-access", now.minusMinutes(1), "server-error-" + UUID.randomUUID(), now.plusDays(30));
+        Member clientError = member("lapsed-access", now.minusMinutes(1), "client-error-" + UUID.randomUUID(), now.plusDays(30));
+
+        assertThatThrownBy(() -> kakaoTokenManager.accessToken(serverError.getId()))
+            .isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> kakaoTokenManager.accessToken(clientError.getId()))
+            .isInstanceOf(HttpClientErrorException.class);
+
+        for (Member member : List.of(serverError, clientError)) {
+            assertThat(reload(member).getKakaoRefreshToken()).isEqualTo(member.getKakaoRefreshToken());
+            assertThat(kakaoTokenManager.hasToken(member.getId())).isTrue();
+        }
+        // the next send tries again
+        assertThatThrownBy(() -> kakaoTokenManager.accessToken(serverError.getId()))
+            .isInstanceOf(HttpServerErrorException.class);
+        assertThat(refreshes(serverError.getKakaoRefreshToken())).isEqualTo(2);
+    }
+
+    @Test
+    void responseWithoutARefreshTokenKeepsTheStoredOne() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime refreshTokenExpiresAt = now.plusDays(30).truncatedTo(ChronoUnit.SECONDS);
+        Member member = member("lapsed-access", now.minusMinutes(1), "refresh-" + UUID.randomUUID(), refreshTokenExpiresAt);
+
+        Optional<String> accessToken = kakaoTokenManager.accessToken(member.getId());
+
+        Member refreshed = reload(member);
+        assertThat(accessToken).contains(refreshed.getKakaoAccessToken());
+        assertThat(refreshed.getKakaoRefreshToken()).isEqualTo(member.getKakaoRefreshToken());
+        assertThat(refreshed.getKakaoRefreshTokenExpiresAt()).isEqualTo(refreshTokenExpiresAt);
+    }
+
+    @Test
+    void responseWithARefreshTokenReplacesTheStoredOne() {
+        LocalDateTime now = LocalDateTime.now();
+        Member member = member("lapsed-access", now.minusMinutes(1), "renewing-" + UUID.randomUUID(), now.plusDays(1));
+
+        kakaoTokenManager.accessToken(member.getId());
+
+        Member refreshed = reload(member);
+        assertThat(refreshed.getKakaoRefreshToken()).isEqualTo("renewed-" + member.getKakaoRefreshToken());
+        assertThat(refreshed.getKakaoRefreshTokenExpiresAt()).isAfter(now.plusDays(50));
+    }
+
+    @Test
+    void concurrentSendsRefreshOnce() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Member member = member("lapsed-access", now.minusMinutes(1), "slow-" + UUID.randomUUID(), now.plusDays(30));
+
+        List<Optional<String>> accessTokens;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Callable<Optional<String>>> sends = IntStream.range(0, 16)
+                .<Callable<Optional<String>>>mapToObj(i -> () -> kakaoTokenManager.accessToken(member.getId()))
+                .toList();
+            accessTokens = executor.invokeAll(sends).stream().map(KakaoTokenManagerTest::result).toList();
+        }
+
+        assertThat(refreshes(member.getKakaoRefreshToken())).isEqualTo(1);
+        assertThat(maxConcurrentRefreshes.get(member.getKakaoRefreshToken())).hasValue(1);
+        assertThat(accessTokens).containsOnly(Optional.of(reload(member).getKakaoAccessToken()));
+    }
+
+    private Member member(
+        String accessToken,
+        LocalDateTime accessTokenExpiresAt,
+        String refreshToken,
+        LocalDateTime refreshTokenExpiresAt
+    ) {
+        Member member = new Member("kakao-token-" + UUID.randomUUID() + "@example.com");
+        member.updateKakaoTokens(accessToken + "-" + UUID.randomUUID(), accessTokenExpiresAt, refreshToken, refreshTokenExpiresAt);
+        return memberRepository.save(member);
+    }
+
+    private Member reload(Member member) {
+        return memberRepository.findById(member.getId()).orElseThrow();
+    }
+
+    private static int refreshes(String refreshToken) {
+        AtomicInteger count = refreshes.get(refreshToken);
+        return count == null ? 0 : count.get();
+    }
+
+    private static <T> T result(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static HttpServer startKakao() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/oauth/token", exchange -> {
+                String refreshToken = refreshToken(new String(exchange.getRequestBody().readAllBytes(), UTF_8));
+                refreshes.computeIfAbsent(refreshToken, token -> new AtomicInteger()).incrementAndGet();
+                int concurrent = concurrentRefreshes.computeIfAbsent(refreshToken, token -> new AtomicInteger()).incrementAndGet();
+                maxConcurrentRefreshes.computeIfAbsent(refreshToken, token -> new AtomicInteger())
+                    .accumulateAndGet(concurrent, Math::max);
+                try {
+                    int status = 200;
+                    String body;
+                    if (refreshToken.startsWith("invalid-")) {
+                        status = 400;
+                        body = "{\"error\":\"invalid_grant\",\"error_code\":\"KOE322\"}";
+                    } else if (refreshToken.startsWith("client-error-")) {
+                        status = 401;
+                        body = "{\"error\":\"invalid_client\",\"error_code\":\"KOE010\"}";
+                    } else if (refreshToken.startsWith("server-error-")) {
+                        status = 500;
+                        body = "{\"error\":\"server_error\"}";
+                    } else if (refreshToken.startsWith("renewing-")) {
+                        body = tokenResponse(", \"refresh_token\":\"renewed-" + refreshToken + "\", \"refresh_token_expires_in\":5184000");
+                    } else {
+                        if (refreshToken.startsWith("slow-")) {
+                            Thread.sleep(SLOW_MILLIS);
+                        }
+                        body = tokenResponse("");
+                    }
+                    byte[] bytes = body.getBytes(UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(status, bytes.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(bytes);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concurrentRefreshes.get(refreshToken).decrementAndGet();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String tokenResponse(String refreshTokenFields) {
+        return "{\"access_token\":\"issued-" + issued.incrementAndGet() + "\",\"token_type\":\"bearer\",\"expires_in\":"
+            + ACCESS_TOKEN_TTL_SECONDS + refreshTokenFields + "}";
+    }
+
+    private static String refreshToken(String form) {
+        for (String pair : form.split("&")) {
+            if (pair.startsWith("refresh_token=")) {
+                return URLDecoder.decode(pair.substring("refresh_token=".length()), UTF_8);
+            }
+        }
+        return "";
+    }
+}
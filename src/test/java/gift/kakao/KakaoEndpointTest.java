@@ -0,0 +1,160 @@
+package gift.kakao;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Drives the message endpoint of KakaoHttpClients against a local stub that can answer 5xx, delay its answer,
+ * or hold a request until the test releases it.
+ * The circuit breaker opens at 50% failures over 4 calls, stays open for OPEN_DURATION and lets 1 probe through.
+ */
+class KakaoEndpointTest {
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+    private static final Duration OPEN_DURATION = Duration.ofMillis(200);
+    private static final int MINIMUM_CALLS = 4;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Semaphore arrivals = new Semaphore(0);
+    private volatile int status = 200;
+    private volatile Duration delay = Duration.ZERO;
+    private volatile CountDownLatch gate;
+
+    private HttpServer kakao;
+    private KakaoEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        kakao = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        kakao.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        kakao.createContext("/v2/api/talk/memo/default/send", exchange -> {
+            requests.incrementAndGet();
+            arrivals.release();
+            try {
+                CountDownLatch held = gate;
+                if (held != null) {
+                    held.await();
+                }
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        kakao.start();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KakaoHttpProperties properties = new KakaoHttpProperties(
+            Duration.ofSeconds(1), READ_TIMEOUT, READ_TIMEOUT, READ_TIMEOUT,
+            new KakaoHttpProperties.CircuitBreaker(50, MINIMUM_CALLS, MINIMUM_CALLS, OPEN_DURATION, 1)
+        );
+        endpoint = new KakaoHttpClients(
+            properties,
+            RestClient.builder(),
+            new KakaoBulkhead(64, Duration.ofMillis(500), meterRegistry),
+            meterRegistry
+        ).message();
+    }
+
+    @AfterEach
+    void tearDown() {
+        CountDownLatch held = gate;
+        if (held != null) {
+            held.countDown();
+        }
+        kakao.stop(0);
+    }
+
+    @Test
+    void opensAfterServerErrors() {
+        status = 500;
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(this::send).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThatThrownBy(this::send).isInstanceOf(KakaoCircuitOpenException.class);
+        assertThat(requests).hasValue(MINIMUM_CALLS);
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnItsSuccess() throws Exception {
+        open();
+        status = 200;
+        gate = new CountDownLatch(1);
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+
+        CompletableFuture<ResponseEntity<Void>> probe = CompletableFuture.supplyAsync(this::send);
+        assertThat(arrivals.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        // the probe is held by the stub, so the circuit is still half-open
+        assertThatThrownBy(this::send).isInstanceOf(KakaoCircuitOpenException.class);
+        assertThat(requests).hasValue(MINIMUM_CALLS + 1);
+
+        gate.countDown();
+        assertThat(probe.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThat(send().getStatusCode().value()).isEqualTo(200);
+        }
+        assertThat(requests).hasValue(2 * MINIMUM_CALLS + 1);
+    }
+
+    @Test
+    void failedProbeOpensTheCircuitAgain() throws InterruptedException {
+        open();
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+
+        assertThatThrownBy(this::send).isInstanceOf(HttpServerErrorException.class);
+
+        assertThatThrownBy(this::send).isInstanceOf(KakaoCircuitOpenException.class);
+        assertThat(requests).hasValue(MINIMUM_CALLS + 1);
+    }
+
+    @Test
+    void readTimeoutFailsTheCallAndCountsAsAFailure() {
+        delay = READ_TIMEOUT.multipliedBy(10);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            long start = System.nanoTime();
+            assertThatThrownBy(this::send).isInstanceOf(ResourceAccessException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(delay);
+        }
+
+        assertThatThrownBy(this::send).isInstanceOf(KakaoCircuitOpenException.class);
+    }
+
+    private void open() {
+        status = 500;
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(this::send).isInstanceOf(HttpServerErrorException.class);
+        }
+        arrivals.drainPermits();
+    }
+
+    private ResponseEntity<Void> send() {
+        return endpoint.call(client -> client.post()
+            .uri("http://127.0.0.1:" + kakao.getAddress().getPort() + "/v2/api/talk/memo/default/send")
+            .retrieve()
+            .toBodilessEntity());
+    }
+}
@@ -0,0 +1,166 @@
+package gift.order;
+
+import com.sun.net.httpserver.HttpServer;
+import gift.category.CategoryRepository;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/*
+ * Drives OrderNotificationDispatcher against a local stub of kapi.kakao.com.
+ * The stub records every "send to me" call and answers 500 for FAILING_TOKEN, 200 otherwise.
+ */
+@SpringBootTest(properties = {
+    "order.notification.poll-interval=50",
+    "order.notification.coalesce-window=0s",
+    "order.notification.backoff=50ms",
+    "order.notification.max-attempts=2"
+})
+@ActiveProfiles("test")
+class OrderNotificationDispatcherTest {
+    private static final String FAILING_TOKEN = "failing-access-token";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Queue<SentMessage> sent = new ConcurrentLinkedQueue<>();
+    private static final HttpServer kakao = startKakao();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderNotificationRepository orderNotificationRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @DynamicPropertySource
+    static void kakaoProperties(DynamicPropertyRegistry registry) {
+        registry.add("kakao.api.api-base-url", () -> "http://127.0.0.1:" + kakao.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopKakao() {
+        kakao.stop(0);
+    }
+
+    @Test
+    void sendsTheNotificationAfterTheOrderCommits() throws InterruptedException {
+        String accessToken = "access-token-" + UUID.randomUUID();
+        Order order = orderService.createOrder(memberWithKakaoToken(accessToken).getId(),
+            new OrderRequest(option("스톡 상품", "기본 옵션").getId(), 2, "생일 축하해"));
+
+        OrderNotification notification = awaitStatus(order.getId(), OrderNotification.Status.SENT);
+
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        assertThat(sentWith(accessToken)).singleElement()
+            .satisfies(message -> assertThat(message.templateObject()).contains("스톡 상품", "기본 옵션", "생일 축하해"));
+    }
+
+    @Test
+    void retriesWithBackoffThenDeadLetters() throws InterruptedException {
+        Order order = orderService.createOrder(memberWithKakaoToken(FAILING_TOKEN).getId(),
+            new OrderRequest(option("실패 상품", "기본 옵션").getId(), 1, null));
+
+        OrderNotification notification = awaitStatus(order.getId(), OrderNotification.Status.DEAD);
+
+        assertThat(notification.getAttempts()).isEqualTo(2);
+        assertThat(notification.getLastError()).contains("500");
+        assertThat(sentWith(FAILING_TOKEN)).hasSize(2);
+    }
+
+    private Option option(String productName, String optionName) {
+        Product product = productRepository.save(
+            new Product(productName, 1_000, "https://example.com/stub.jpg", categoryRepository.findAll().get(0)));
+        return optionRepository.save(new Option(product, optionName, 100));
+    }
+
+    private Member memberWithKakaoToken(String accessToken) {
+        Member member = new Member("kakao-" + UUID.randomUUID() + "@example.com");
+        LocalDateTime now = LocalDateTime.now();
+        member.updateKakaoTokens(accessToken, now.plusHours(1), "refresh-" + accessToken, now.plusDays(30));
+        member = memberRepository.save(member);
+        memberRepository.chargePoint(member.getId(), 100_000);
+        return member;
+    }
+
+    private OrderNotification awaitStatus(Long orderId, OrderNotification.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            OrderNotification notification = orderNotificationRepository.findAll().stream()
+                .filter(candidate -> candidate.getOrderId().equals(orderId))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No notification was queued for order " + orderId));
+            if (notification.getStatus() == status) {
+                return notification;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                fail("Notification of order %d is %s, expected %s", orderId, notification.getStatus(), status);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static List<SentMessage> sentWith(String accessToken) {
+        return sent.stream().filter(message -> message.authorization().equals("Bearer " + accessToken)).toList();
+    }
+
+    private static HttpServer startKakao() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/v2/api/talk/memo/default/send", exchange -> {
+                String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+                String form = new String(exchange.getRequestBody().readAllBytes(), UTF_8);
+                sent.add(new SentMessage(authorization, URLDecoder.decode(form.substring(form.indexOf('=') + 1), UTF_8)));
+
+                boolean failing = ("Bearer " + FAILING_TOKEN).equals(authorization);
+                byte[] body = (failing ? "{\"code\":-1,\"msg\":\"stub failure\"}" : "{\"result_code\":0}").getBytes(UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(failing ? 500 : 200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record SentMessage(String authorization, String templateObject) {
+    }
+}
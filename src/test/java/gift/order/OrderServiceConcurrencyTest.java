@@ -0,0 +1,94 @@
+package gift.order;
+
+import gift.category.CategoryRepository;
+import gift.member.Member;
+import gift.member.MemberRepository;
+import gift.option.Option;
+import gift.option.OptionRepository;
+import gift.product.Product;
+import gift.product.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Fires many more parallel orders at one option than it has stock for.
+ * The conditional stock update must let exactly `STOCK` of them through and leave the quantity at zero.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceConcurrencyTest {
+    private static final int STOCK = 1_000;
+    private static final int ORDERS = 3_000;
+    private static final int PRICE = 1_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void concurrentOrdersNeverOversell() throws InterruptedException {
+        Product product = productRepository.save(
+            new Product("한정 수량 상품", PRICE, "https://example.com/limited.jpg", categoryRepository.findAll().get(0)));
+        Option option = optionRepository.save(new Option(product, "단일 옵션", STOCK));
+        Member member = memberRepository.save(new Member("oversell-" + UUID.randomUUID() + "@example.com", "password"));
+        memberRepository.chargePoint(member.getId(), ORDERS * PRICE);
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ORDERS; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(member.getId(), new OrderRequest(option.getId(), 1, null));
+                        placed.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(unexpected).isEmpty();
+        assertThat(placed).hasValue(STOCK);
+        assertThat(rejected).hasValue(ORDERS - STOCK);
+        assertThat(optionRepository.findById(option.getId()).orElseThrow().getQuantity()).isZero();
+        assertThat(orderRepository.findResponsesByMemberId(member.getId(), PageRequest.of(0, 1)).getTotalElements())
+            .isEqualTo(STOCK);
+        assertThat(memberRepository.findById(member.getId()).orElseThrow().getPoint())
+            .isEqualTo((ORDERS - STOCK) * PRICE);
+    }
+}
@@ -0,0 +1,85 @@
+package gift.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Rows longer than the record length limit are reported as errors and the reader resumes at the next line.
+ */
+class ProductImportReaderTest {
+    private static final int MAX_RECORD_LENGTH = 100;
+    private static final String HEADER = "name,price,imageUrl,categoryId,options\n";
+    private static final String VALID_CSV_ROW = "상품,1000,https://example.com/a.jpg,1,기본:10\n";
+
+    @Test
+    void oversizedCsvRowIsAnErrorAndTheNextRowIsRead() throws IOException {
+        List<ProductImportReader.Entry> entries = read(ProductImportFormat.CSV,
+            HEADER + "긴 상품,1000," + "x".repeat(500) + ",1,\n" + VALID_CSV_ROW);
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).line()).isEqualTo(2);
+        assertThat(entries.get(0).error()).contains(String.valueOf(MAX_RECORD_LENGTH));
+        assertThat(entries.get(1).line()).isEqualTo(3);
+        assertThat(entries.get(1).row().name()).isEqualTo("상품");
+    }
+
+    @Test
+    void unterminatedQuoteIsCutOffAtTheLimit() throws IOException {
+        List<ProductImportReader.Entry> entries = read(ProductImportFormat.CSV,
+            HEADER + "\"" + "x".repeat(500) + "\n" + VALID_CSV_ROW);
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).error()).isNotNull();
+        assertThat(entries.get(1).row().name()).isEqualTo("상품");
+    }
+
+    @Test
+    void rowOfExactlyTheLimitIsRead() throws IOException {
+        String row = "상품,1000,https://example.com/a.jpg,1,";
+        row = row + "x".repeat(MAX_RECORD_LENGTH - row.length() - 2) + ":1\n";
+
+        List<ProductImportReader.Entry> entries = read(ProductImportFormat.CSV, HEADER + row);
+
+        assertThat(entries).singleElement().satisfies(entry -> assertThat(entry.error()).isNull());
+    }
+
+    @Test
+    void oversizedHeaderFailsTheFile() {
+        assertThatThrownBy(() -> read(ProductImportFormat.CSV, "name," + "x".repeat(500) + "\n" + VALID_CSV_ROW))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void oversizedNdjsonLineIsAnErrorAndTheNextLineIsRead() throws IOException {
+        String valid = "{\"name\":\"상품\",\"price\":1000,\"imageUrl\":\"https://example.com/a.jpg\",\"categoryId\":1}";
+        List<ProductImportReader.Entry> entries = read(ProductImportFormat.NDJSON,
+            "{\"name\":\"" + "x".repeat(500) + "\"}\n" + valid + "\n");
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).line()).isEqualTo(1);
+        assertThat(entries.get(0).error()).contains(String.valueOf(MAX_RECORD_LENGTH));
+        assertThat(entries.get(1).line()).isEqualTo(2);
+        assertThat(entries.get(1).row().name()).isEqualTo("상품");
+    }
+
+    private static List<ProductImportReader.Entry> read(ProductImportFormat format, String content) throws IOException {
+        List<ProductImportReader.Entry> entries = new ArrayList<>();
+        try (ProductImportReader reader = new ProductImportReader(
+            format, new ByteArrayInputStream(content.getBytes(UTF_8)), new ObjectMapper(), MAX_RECORD_LENGTH)) {
+            ProductImportReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
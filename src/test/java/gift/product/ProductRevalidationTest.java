@@ -0,0 +1,80 @@
+package gift.product;
+
+import gift.category.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * GET /api/products/{id} against a change this instance did not make (another instance, or SQL by hand):
+ * the update goes straight to the table, so ProductCatalogCache is not invalidated.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductRevalidationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long id;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        id = productRepository.save(
+            new Product("캐시된 상품", 1_000, "https://example.com/cached.jpg", categoryRepository.findAll().get(0))).getId();
+        // caches the product on this instance
+        etag = mockMvc.perform(get("/api/products/{id}", id))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void unchangedProductIsNotModified() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void productChangedElsewhereIsServedFresh() throws Exception {
+        jdbcTemplate.update("update product set name = ?, version = version + 1 where id = ?", "바뀐 상품", id);
+
+        String newEtag = mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("바뀐 상품"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(newEtag).isNotEqualTo(etag);
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, newEtag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void productDeletedElsewhereIsNotFound() throws Exception {
+        jdbcTemplate.update("delete from product where id = ?", id);
+
+        mockMvc.perform(get("/api/products/{id}", id))
+            .andExpect(status().isNotFound());
+    }
+}